@@ -0,0 +1,54 @@
+package com.github.silviacristinaa.students.benchmarks;
+
+import com.github.silviacristinaa.students.dtos.requests.StudentRequestDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentResponseDto;
+import com.github.silviacristinaa.students.entities.Student;
+import com.github.silviacristinaa.students.enums.CourseEnum;
+
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static Student student(long id) {
+        return new Student(id, "Student " + id, cpf(id), "student" + id + "@gmail.com",
+                String.format("%08X", id), CourseEnum.SOFTWARE_ENGINEERING, true, 0L, null, null);
+    }
+
+    static StudentResponseDto studentResponseDto(long id) {
+        return new StudentResponseDto(id, "Student " + id, cpf(id), "student" + id + "@gmail.com",
+                String.format("%08X", id), CourseEnum.SOFTWARE_ENGINEERING, true, 0L);
+    }
+
+    static StudentRequestDto studentRequestDto(long seed) {
+        return new StudentRequestDto("Student " + seed, cpf(seed), "student" + seed + "@gmail.com",
+                CourseEnum.SOFTWARE_ENGINEERING, true);
+    }
+
+    /**
+     * Builds a CPF with valid check digits from the first nine digits of {@code seed}.
+     */
+    static String cpf(long seed) {
+        int[] digits = new int[11];
+        String base = String.format("%09d", seed % 1_000_000_000L);
+        for (int i = 0; i < 9; i++) {
+            digits[i] = base.charAt(i) - '0';
+        }
+        digits[9] = checkDigit(digits, 9);
+        digits[10] = checkDigit(digits, 10);
+
+        StringBuilder cpf = new StringBuilder(11);
+        for (int digit : digits) {
+            cpf.append(digit);
+        }
+        return cpf.toString();
+    }
+
+    private static int checkDigit(int[] digits, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += digits[i] * (length + 1 - i);
+        }
+        return sum * 10 % 11 % 10;
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.silviacristinaa.students.benchmarks;
+
+import com.github.silviacristinaa.students.dtos.responses.StudentResponseDto;
+import com.github.silviacristinaa.students.entities.Student;
+import com.github.silviacristinaa.students.mappers.StudentMapper;
+import com.github.silviacristinaa.students.mappers.StudentMapperImpl;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Student to StudentResponseDto mapping: the generated StudentMapper against the reflective ModelMapper
+ * it replaced, kept as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private Student student;
+    private StudentMapper studentMapper;
+    private ModelMapper modelMapper;
+
+    @Setup
+    public void setUp() {
+        student = BenchmarkData.student(1L);
+        studentMapper = new StudentMapperImpl();
+        modelMapper = new ModelMapper();
+    }
+
+    @Benchmark
+    public StudentResponseDto studentMapper() {
+        return studentMapper.toResponseDto(student);
+    }
+
+    @Benchmark
+    public StudentResponseDto modelMapper() {
+        return modelMapper.map(student, StudentResponseDto.class);
+    }
+}
@@ -0,0 +1,95 @@
+package com.github.silviacristinaa.students.benchmarks;
+
+import com.github.silviacristinaa.students.StudentsApplication;
+import com.github.silviacristinaa.students.dtos.responses.StudentResponseDto;
+import com.github.silviacristinaa.students.entities.Student;
+import com.github.silviacristinaa.students.exceptions.NotFoundException;
+import com.github.silviacristinaa.students.mappers.StudentMapper;
+import com.github.silviacristinaa.students.repositories.StudentRepository;
+import com.github.silviacristinaa.students.services.StudentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * StudentService against an in-memory H2 database migrated by Liquibase. The student cache is turned off
+ * so findOneStudentById measures the database path. findAllHydratingEntities is the former list path
+ * (managed entities mapped afterwards), kept as the baseline for findAll; run with -prof gc to compare
+ * allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentServiceBenchmark {
+
+    private static final int SEEDED_STUDENTS = 1000;
+    private static final Pageable PAGE = PageRequest.of(0, 20, Sort.by("name"));
+
+    private final AtomicLong sequence = new AtomicLong(100_000_000L);
+
+    private ConfigurableApplicationContext context;
+    private StudentService studentService;
+    private StudentRepository studentRepository;
+    private StudentMapper studentMapper;
+    private long[] ids;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(StudentsApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.jpa.show-sql=false",
+                        "students.cache.enabled=false")
+                .run();
+        studentService = context.getBean(StudentService.class);
+        studentRepository = context.getBean(StudentRepository.class);
+        studentMapper = context.getBean(StudentMapper.class);
+
+        ids = new long[SEEDED_STUDENTS];
+        for (int i = 0; i < SEEDED_STUDENTS; i++) {
+            ids[i] = studentService.create(BenchmarkData.studentRequestDto(sequence.incrementAndGet())).getId();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Student create() {
+        return studentService.create(BenchmarkData.studentRequestDto(sequence.incrementAndGet()));
+    }
+
+    @Benchmark
+    public StudentResponseDto findOneStudentById() throws NotFoundException {
+        next = (next + 1) % SEEDED_STUDENTS;
+        return studentService.findOneStudentById(ids[next]);
+    }
+
+    @Benchmark
+    public Page<StudentResponseDto> findAll() {
+        return studentService.findAll(PAGE);
+    }
+
+    @Benchmark
+    public Page<StudentResponseDto> findAllHydratingEntities() {
+        return studentRepository.findAll(PAGE).map(studentMapper::toResponseDto);
+    }
+}
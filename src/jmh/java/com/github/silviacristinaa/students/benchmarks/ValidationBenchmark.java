@@ -0,0 +1,53 @@
+package com.github.silviacristinaa.students.benchmarks;
+
+import com.github.silviacristinaa.students.dtos.requests.StudentRequestDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of StudentRequestDto, including the @CPF check digits and @Email pattern.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private StudentRequestDto valid;
+    private StudentRequestDto invalid;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        valid = BenchmarkData.studentRequestDto(123456789L);
+        invalid = BenchmarkData.studentRequestDto(123456789L);
+        invalid.setCpf("12345678900");
+        invalid.setEmail("invalid");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<StudentRequestDto>> validStudent() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<StudentRequestDto>> invalidStudent() {
+        return validator.validate(invalid);
+    }
+}
@@ -0,0 +1,465 @@
+package com.github.silviacristinaa.students.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.silviacristinaa.students.dtos.requests.StudentBatchRequestDto;
+import com.github.silviacristinaa.students.dtos.requests.StudentBulkStatusRequestDto;
+import com.github.silviacristinaa.students.dtos.requests.StudentRequestDto;
+import com.github.silviacristinaa.students.dtos.requests.StudentStatusRequestDto;
+import com.github.silviacristinaa.students.enums.CourseEnum;
+import com.github.silviacristinaa.students.services.StudentService;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Drives mixed traffic across every StudentResource endpoint and reports throughput, status codes and
+ * p50/p95/p99/max latency per endpoint to JSON. Each scenario boots StudentsApplication on its own database, seeds
+ * it and measures after a warmup:
+ * <ul>
+ *     <li>read-heavy: lookups, pages, searches and the change feed, with about one write in six requests;</li>
+ *     <li>write-heavy: creates, imports, updates, status changes and deletes, with about one read in four;</li>
+ *     <li>conflict-heavy: every client reads and conditionally writes the same few hot students, so most writes
+ *     lose with 412, and creates reuse registered CPFs and emails, which are rejected with 409.</li>
+ * </ul>
+ * Client n draws its requests from a generator seeded with loadtest.seed + n, so runs send the same mix. A scenario
+ * fails when more than loadtest.max-error-rate of its requests end in a transport error, a 5xx or a 4xx other than
+ * 409 and 412, or when the p99 of one of its endpoints exceeds loadtest.max-p99-ms; the report is still written and
+ * the run exits with status 1.
+ * <p>
+ * System properties: loadtest.scenarios (read-heavy,write-heavy,conflict-heavy), loadtest.concurrency (64),
+ * loadtest.duration (PT30S), loadtest.warmup (PT5S), loadtest.students (10000), loadtest.hot-students (8),
+ * loadtest.seed (42), loadtest.max-error-rate (0.01), loadtest.max-p99-ms (no limit), loadtest.pool-size (20),
+ * loadtest.datasource.url/username/password (in-memory H2 when absent) and
+ * loadtest.output (target/loadtest/endpoints.json).
+ */
+public class EndpointLoadTest {
+
+    private static final int BATCH_SIZE = 5;
+    private static final int FAILED = -1;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final String BOUNDARY = "students-loadtest";
+    private static final String CSV_HEADER = "name,cpf,email,course,active";
+
+    public static void main(String[] args) throws Exception {
+        List<Scenario> scenarios = Arrays.stream(System.getProperty("loadtest.scenarios",
+                        "read-heavy,write-heavy,conflict-heavy").split(","))
+                .map(String::trim)
+                .map(Scenario::of)
+                .toList();
+        int concurrency = Integer.getInteger("loadtest.concurrency", 64);
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+        Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT5S"));
+        int students = Integer.getInteger("loadtest.students", 10_000);
+        int hotStudents = Integer.getInteger("loadtest.hot-students", 8);
+        long seed = Long.getLong("loadtest.seed", 42L);
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+        String maxP99Ms = System.getProperty("loadtest.max-p99-ms");
+        File output = new File(System.getProperty("loadtest.output", "target/loadtest/endpoints.json"));
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        List<String> violations = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            Map<String, Object> result = run(scenario, concurrency, warmup, duration, students, hotStudents, seed);
+            results.add(result);
+            violations.addAll(check(result, maxErrorRate, maxP99Ms == null ? null : Double.valueOf(maxP99Ms)));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("concurrency", concurrency);
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("students", students);
+        report.put("seed", seed);
+        report.put("scenarios", results);
+        report.put("violations", violations);
+
+        LoadTestSupport.write(output, report);
+        violations.forEach(System.err::println);
+        System.exit(violations.isEmpty() ? 0 : 1);
+    }
+
+    private static Map<String, Object> run(Scenario scenario, int concurrency, Duration warmup, Duration duration,
+                                           int students, int hotStudents, long seed) throws Exception {
+        try (ConfigurableApplicationContext context =
+                     LoadTestSupport.application("loadtest-" + scenario.tag()).run()) {
+            List<LoadTestSupport.Seeded> seeded =
+                    LoadTestSupport.seed(context.getBean(StudentService.class), students);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + LoadTestSupport.CONTEXT_PATH + "/students";
+            Traffic traffic = new Traffic(scenario, baseUrl, seeded, Math.min(hotStudents, seeded.size()));
+
+            drive(traffic, concurrency, warmup, ~seed);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("scenario", scenario.tag());
+            result.putAll(drive(traffic, concurrency, duration, seed));
+            return result;
+        }
+    }
+
+    private static Map<String, Object> drive(Traffic traffic, int concurrency, Duration duration, long seed)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Client>> futures = new ArrayList<>(concurrency);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                Client client = new Client(traffic, new SplittableRandom(seed + i));
+                futures.add(executor.submit(() -> client.run(deadline)));
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<Endpoint, Stats> endpoints = new EnumMap<>(Endpoint.class);
+        LoadTestSupport.Latencies total = new LoadTestSupport.Latencies();
+        for (Future<Client> future : futures) {
+            future.get().stats.forEach((endpoint, stats) -> {
+                endpoints.computeIfAbsent(endpoint, key -> new Stats()).addAll(stats);
+                total.addAll(stats.latencies);
+            });
+        }
+
+        Map<String, Object> result = total.summary(elapsedSeconds);
+        Map<String, Object> perEndpoint = new LinkedHashMap<>();
+        endpoints.forEach((endpoint, stats) -> {
+            Map<String, Object> summary = stats.latencies.summary(elapsedSeconds);
+            summary.put("statuses", stats.statuses);
+            perEndpoint.put(endpoint.label, summary);
+        });
+        result.put("endpoints", perEndpoint);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> check(Map<String, Object> result, double maxErrorRate, Double maxP99Ms) {
+        List<String> violations = new ArrayList<>();
+        double requests = ((Number) result.get("requests")).doubleValue();
+        double errorRate = requests == 0 ? 1 : ((Number) result.get("errors")).doubleValue() / requests;
+        if (errorRate > maxErrorRate) {
+            violations.add(String.format("%s: error rate %.4f above %s", result.get("scenario"), errorRate,
+                    maxErrorRate));
+        }
+        if (maxP99Ms != null) {
+            ((Map<String, Map<String, Object>>) result.get("endpoints")).forEach((endpoint, summary) -> {
+                double p99Ms = ((Number) summary.get("p99Ms")).doubleValue();
+                if (p99Ms > maxP99Ms) {
+                    violations.add(String.format("%s: %s p99 %.1f ms above %s ms", result.get("scenario"), endpoint,
+                            p99Ms, maxP99Ms));
+                }
+            });
+        }
+        return violations;
+    }
+
+    private enum Scenario {
+        READ_HEAVY, WRITE_HEAVY, CONFLICT_HEAVY;
+
+        private String tag() {
+            return name().toLowerCase().replace('_', '-');
+        }
+
+        private static Scenario of(String tag) {
+            return valueOf(tag.toUpperCase().replace('-', '_'));
+        }
+    }
+
+    /**
+     * Every StudentResource operation with its share of the traffic in each scenario.
+     */
+    private enum Endpoint {
+        // Weights in the read-heavy, write-heavy and conflict-heavy scenarios
+        FIND_ALL("GET /students", 10, 3, 2),
+        FIND_ALL_BY_CURSOR("GET /students?after", 8, 2, 1),
+        SEARCH("GET /students/search", 8, 3, 1),
+        SEARCH_BY_NAME("GET /students/search/name", 5, 2, 1),
+        FIND_CHANGES("GET /students/changes", 4, 3, 2),
+        EXPORT("GET /students/export", 1, 1, 1),
+        CHECK_AVAILABILITY("GET /students/availability", 8, 4, 2),
+        FIND_BY_ID("GET /students/{id}", 40, 8, 25),
+        CREATE("POST /students", 4, 20, 10),
+        CREATE_ALL("POST /students/batch", 1, 4, 2),
+        IMPORT_CSV("POST /students/import", 1, 2, 1),
+        UPDATE_STUDENT_STATUS("PATCH /students/{id}", 3, 15, 20),
+        UPDATE_STUDENTS_STATUS("PATCH /students/status", 1, 4, 3),
+        UPDATE("PUT /students/{id}", 3, 20, 25),
+        DELETE("DELETE /students/{id}", 2, 10, 1);
+
+        private final String label;
+        private final int[] weights;
+
+        Endpoint(String label, int... weights) {
+            this.label = label;
+            this.weights = weights;
+        }
+    }
+
+    /**
+     * What every client of a scenario shares: the application, the seeded students and the endpoint mix.
+     */
+    private static class Traffic {
+
+        private final Scenario scenario;
+        private final String baseUrl;
+        private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        private final ObjectMapper objectMapper = new ObjectMapper();
+        private final long[] ids;
+        private final long[] seeds;
+        private final int hotStudents;
+        private final int[] cumulativeWeights;
+
+        private Traffic(Scenario scenario, String baseUrl, List<LoadTestSupport.Seeded> seeded, int hotStudents) {
+            this.scenario = scenario;
+            this.baseUrl = baseUrl;
+            this.ids = seeded.stream().mapToLong(LoadTestSupport.Seeded::id).toArray();
+            this.seeds = seeded.stream().mapToLong(LoadTestSupport.Seeded::seed).toArray();
+            this.hotStudents = hotStudents;
+            this.cumulativeWeights = new int[Endpoint.values().length];
+            int sum = 0;
+            for (Endpoint endpoint : Endpoint.values()) {
+                sum += endpoint.weights[scenario.ordinal()];
+                cumulativeWeights[endpoint.ordinal()] = sum;
+            }
+        }
+
+        private boolean conflicts() {
+            return scenario == Scenario.CONFLICT_HEAVY;
+        }
+
+        private Endpoint next(SplittableRandom random) {
+            int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            int index = Arrays.binarySearch(cumulativeWeights, draw + 1);
+            return Endpoint.values()[index >= 0 ? index : -index - 1];
+        }
+    }
+
+    private static class Stats {
+
+        private final LoadTestSupport.Latencies latencies = new LoadTestSupport.Latencies();
+        private final Map<String, Long> statuses = new TreeMap<>();
+
+        /**
+         * 409 and 412 are the answers conflicting writes are expected to get, anything else over 399 is an error.
+         */
+        private void record(long latency, int status) {
+            boolean error = status == FAILED || status >= 500
+                    || (status >= 400 && status != 409 && status != 412);
+            latencies.record(latency, error);
+            statuses.merge(status == FAILED ? "failed" : String.valueOf(status), 1L, Long::sum);
+        }
+
+        private void addAll(Stats other) {
+            latencies.addAll(other.latencies);
+            other.statuses.forEach((status, count) -> statuses.merge(status, count, Long::sum));
+        }
+    }
+
+    private static class Client {
+
+        private final Traffic traffic;
+        private final SplittableRandom random;
+        private final Map<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+        private final Map<Long, String> eTags = new HashMap<>();
+        private final Deque<Long> created = new ArrayDeque<>();
+
+        private Client(Traffic traffic, SplittableRandom random) {
+            this.traffic = traffic;
+            this.random = random;
+        }
+
+        private Client run(long deadline) {
+            while (System.nanoTime() < deadline) {
+                call(traffic.next(random));
+            }
+            return this;
+        }
+
+        private void call(Endpoint endpoint) {
+            int target = target();
+            switch (endpoint) {
+                case FIND_ALL -> send(endpoint, request("?page="
+                        + random.nextInt(Math.max(traffic.ids.length / 20, 1)) + "&size=20").GET());
+                case FIND_ALL_BY_CURSOR -> send(endpoint, request("?after=&size=20&orderBy="
+                        + (random.nextBoolean() ? "ID" : "NAME")).GET());
+                case SEARCH -> send(endpoint, request("/search?course=" + course() + "&active=" + random.nextBoolean()
+                        + "&size=20").GET());
+                case SEARCH_BY_NAME -> send(endpoint, request("/search/name?name="
+                        + URLEncoder.encode(LoadTestSupport.student(traffic.seeds[target]).getName(),
+                        StandardCharsets.UTF_8)).GET());
+                case FIND_CHANGES -> send(endpoint, request("/changes?since=&limit=100").GET());
+                case EXPORT -> send(endpoint, request("/export?course=" + course() + "&active="
+                        + random.nextBoolean()).GET());
+                case CHECK_AVAILABILITY -> send(endpoint, request("/availability?cpf=" + LoadTestSupport.cpf(
+                        random.nextBoolean() ? traffic.seeds[target] : random.nextLong(1_000_000_000L))).GET());
+                case FIND_BY_ID -> findById(traffic.ids[target]);
+                case CREATE -> create(!traffic.conflicts());
+                case CREATE_ALL -> send(endpoint, json(request("/batch"), HttpMethod.POST,
+                        new StudentBatchRequestDto(students())));
+                case IMPORT_CSV -> importCsv();
+                case UPDATE_STUDENT_STATUS ->
+                        write(endpoint, target, new StudentStatusRequestDto(random.nextBoolean()));
+                case UPDATE_STUDENTS_STATUS -> updateStudentsStatus();
+                case UPDATE -> {
+                    StudentRequestDto student = LoadTestSupport.student(traffic.seeds[target]);
+                    student.setActive(random.nextBoolean());
+                    write(endpoint, target, student);
+                }
+                case DELETE -> delete();
+            }
+        }
+
+        /**
+         * Any seeded student, or one of the hot ones when the scenario is about conflicts.
+         */
+        private int target() {
+            return random.nextInt(traffic.conflicts() ? traffic.hotStudents : traffic.ids.length);
+        }
+
+        private CourseEnum course() {
+            return CourseEnum.values()[random.nextInt(CourseEnum.values().length)];
+        }
+
+        private String findById(long id) {
+            HttpResponse<Void> response = send(Endpoint.FIND_BY_ID, request("/" + id).GET());
+            String eTag = response == null ? null : response.headers().firstValue(HttpHeaders.ETAG).orElse(null);
+            if (eTag != null && traffic.conflicts()) {
+                eTags.put(id, eTag);
+            }
+            return eTag;
+        }
+
+        private void create(boolean fresh) {
+            long seed = fresh ? LoadTestSupport.nextSeed() : traffic.seeds[target()];
+            HttpResponse<Void> response = send(Endpoint.CREATE, json(request(""), HttpMethod.POST,
+                    LoadTestSupport.student(seed)));
+            if (response != null && response.statusCode() == 201) {
+                response.headers().firstValue(HttpHeaders.LOCATION).ifPresent(location ->
+                        created.push(Long.valueOf(location.substring(location.lastIndexOf('/') + 1))));
+            }
+        }
+
+        /**
+         * Deletes a student this client created, so other clients never find their targets gone.
+         */
+        private void delete() {
+            Long id = created.poll();
+            if (id == null) {
+                create(true);
+            } else {
+                send(Endpoint.DELETE, request("/" + id).DELETE());
+            }
+        }
+
+        /**
+         * Conflicting clients read the student first and send its ETag in If-Match, as an editing client would.
+         */
+        private void write(Endpoint endpoint, int target, Object body) {
+            long id = traffic.ids[target];
+            HttpMethod method = endpoint == Endpoint.UPDATE ? HttpMethod.PUT : HttpMethod.PATCH;
+            HttpRequest.Builder request = request("/" + id);
+            if (traffic.conflicts()) {
+                String eTag = eTags.remove(id);
+                if (eTag == null) {
+                    eTag = findById(id);
+                    eTags.remove(id);
+                }
+                if (eTag != null) {
+                    request.header(HttpHeaders.IF_MATCH, eTag);
+                }
+            }
+            send(endpoint, json(request, method, body));
+        }
+
+        private void updateStudentsStatus() {
+            List<Long> ids = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                ids.add(traffic.ids[target()]);
+            }
+            send(Endpoint.UPDATE_STUDENTS_STATUS, json(request("/status"), HttpMethod.PATCH,
+                    new StudentBulkStatusRequestDto(ids, null, null, random.nextBoolean())));
+        }
+
+        private void importCsv() {
+            StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+            for (StudentRequestDto student : students()) {
+                csv.append(student.getName()).append(',').append(student.getCpf()).append(',')
+                        .append(student.getEmail()).append(',').append(student.getCourse()).append(',')
+                        .append(student.isActive()).append('\n');
+            }
+            String body = "--" + BOUNDARY + "\r\n"
+                    + "Content-Disposition: form-data; name=\"file\"; filename=\"students.csv\"\r\n"
+                    + "Content-Type: text/csv\r\n\r\n"
+                    + csv
+                    + "\r\n--" + BOUNDARY + "--\r\n";
+            send(Endpoint.IMPORT_CSV, request("/import")
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.MULTIPART_FORM_DATA_VALUE + "; boundary=" + BOUNDARY)
+                    .POST(HttpRequest.BodyPublishers.ofString(body)));
+        }
+
+        /**
+         * New students, half of them reusing a seeded student's CPF and email when the scenario is about conflicts.
+         */
+        private List<StudentRequestDto> students() {
+            List<StudentRequestDto> students = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                students.add(LoadTestSupport.student(traffic.conflicts() && random.nextBoolean()
+                        ? traffic.seeds[target()] : LoadTestSupport.nextSeed()));
+            }
+            return students;
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create(traffic.baseUrl + path)).timeout(TIMEOUT);
+        }
+
+        private HttpRequest.Builder json(HttpRequest.Builder request, HttpMethod method, Object body) {
+            try {
+                return request.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .method(method.name(), HttpRequest.BodyPublishers.ofByteArray(
+                                traffic.objectMapper.writeValueAsBytes(body)));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private HttpResponse<Void> send(Endpoint endpoint, HttpRequest.Builder request) {
+            HttpResponse<Void> response = null;
+            long start = System.nanoTime();
+            try {
+                response = traffic.client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+            } catch (IOException e) {
+                // Recorded as a failed request below
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            stats.computeIfAbsent(endpoint, key -> new Stats())
+                    .record(System.nanoTime() - start, response == null ? FAILED : response.statusCode());
+            return response;
+        }
+    }
+}
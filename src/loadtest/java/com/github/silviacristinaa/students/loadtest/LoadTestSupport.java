@@ -0,0 +1,184 @@
+package com.github.silviacristinaa.students.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.silviacristinaa.students.StudentsApplication;
+import com.github.silviacristinaa.students.dtos.requests.StudentRequestDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentBatchItemResponseDto;
+import com.github.silviacristinaa.students.enums.CourseEnum;
+import com.github.silviacristinaa.students.services.StudentService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Application boot, seeding and latency bookkeeping shared by the load tests. Every student a run creates gets a
+ * name, CPF and email derived from one seed number handed out by {@link #nextSeed()}, so runs against a persistent
+ * database do not collide with the students of earlier runs.
+ * <p>
+ * System properties: loadtest.datasource.url/username/password (in-memory H2 when absent), loadtest.pool-size (20)
+ * and loadtest.concurrency-limit (false). The adaptive concurrency limit stays off unless asked for: the runs drive
+ * more clients than its initial limit, and the requests it sheds would count as errors against the gate.
+ */
+final class LoadTestSupport {
+
+    static final String CONTEXT_PATH = "/api/v1";
+
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final AtomicLong SEEDS =
+            new AtomicLong(ThreadLocalRandom.current().nextLong(100_000_000L, 800_000_000L));
+
+    private LoadTestSupport() {
+    }
+
+    /**
+     * StudentsApplication on a random port, against the configured database or a fresh in-memory H2 one.
+     */
+    static SpringApplicationBuilder application(String databaseName) {
+        return new SpringApplicationBuilder(StudentsApplication.class)
+                .properties(
+                        "server.port=0",
+                        "server.servlet.context-path=" + CONTEXT_PATH,
+                        "spring.datasource.url=" + System.getProperty("loadtest.datasource.url",
+                                "jdbc:h2:mem:" + databaseName),
+                        "spring.datasource.username=" + System.getProperty("loadtest.datasource.username", "sa"),
+                        "spring.datasource.password=" + System.getProperty("loadtest.datasource.password", ""),
+                        "spring.datasource.driver-class-name=",
+                        "spring.datasource.hikari.maximum-pool-size=" + Integer.getInteger("loadtest.pool-size", 20),
+                        "students.concurrency.enabled=" + Boolean.getBoolean("loadtest.concurrency-limit"));
+    }
+
+    static long nextSeed() {
+        return SEEDS.getAndIncrement();
+    }
+
+    static StudentRequestDto student(long seed) {
+        return new StudentRequestDto("Student " + seed, cpf(seed), "student" + seed + "@loadtest.com",
+                CourseEnum.values()[(int) (seed % CourseEnum.values().length)], seed % 2 == 0);
+    }
+
+    /**
+     * Creates the given number of students through the service and returns them in creation order.
+     */
+    static List<Seeded> seed(StudentService studentService, int students) {
+        List<Seeded> seeded = new ArrayList<>(students);
+        for (int from = 0; from < students; from += SEED_BATCH_SIZE) {
+            long[] seeds = new long[Math.min(SEED_BATCH_SIZE, students - from)];
+            List<StudentRequestDto> batch = new ArrayList<>(seeds.length);
+            for (int i = 0; i < seeds.length; i++) {
+                seeds[i] = nextSeed();
+                batch.add(student(seeds[i]));
+            }
+            for (StudentBatchItemResponseDto item : studentService.createAll(batch).getItems()) {
+                if (item.getId() != null) {
+                    seeded.add(new Seeded(item.getId(), seeds[item.getIndex()]));
+                }
+            }
+        }
+        return seeded;
+    }
+
+    static String cpf(long seed) {
+        int[] digits = new int[11];
+        String base = String.format("%09d", seed % 1_000_000_000L);
+        for (int i = 0; i < 9; i++) {
+            digits[i] = base.charAt(i) - '0';
+        }
+        for (int length = 9; length <= 10; length++) {
+            int sum = 0;
+            for (int i = 0; i < length; i++) {
+                sum += digits[i] * (length + 1 - i);
+            }
+            digits[length] = sum * 10 % 11 % 10;
+        }
+        StringBuilder cpf = new StringBuilder(11);
+        for (int digit : digits) {
+            cpf.append(digit);
+        }
+        return cpf.toString();
+    }
+
+    static void write(File output, Map<String, Object> report) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        output.getParentFile().mkdirs();
+        objectMapper.writeValue(output, report);
+        System.out.println(objectMapper.writeValueAsString(report));
+    }
+
+    /**
+     * A seeded student: its id and the seed its name, CPF and email were derived from.
+     */
+    record Seeded(long id, long seed) {
+    }
+
+    /**
+     * Latencies of one client, merged with the other clients' once the run is over.
+     */
+    static class Latencies {
+
+        private long[] nanos = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long latency, boolean error) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latency;
+            if (error) {
+                errors++;
+            }
+        }
+
+        void addAll(Latencies other) {
+            if (count + other.count > nanos.length) {
+                nanos = Arrays.copyOf(nanos, Math.max(count + other.count, nanos.length * 2));
+            }
+            System.arraycopy(other.nanos, 0, nanos, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+
+        int count() {
+            return count;
+        }
+
+        long errors() {
+            return errors;
+        }
+
+        /**
+         * Request count, errors, throughput and p50/p95/p99/max latency in milliseconds.
+         */
+        Map<String, Object> summary(double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", count);
+            summary.put("errors", errors);
+            summary.put("throughput", Math.round(count / elapsedSeconds));
+            summary.put("p50Ms", percentile(sorted, 0.50));
+            summary.put("p95Ms", percentile(sorted, 0.95));
+            summary.put("p99Ms", percentile(sorted, 0.99));
+            summary.put("maxMs", sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+            return summary;
+        }
+
+        private static double percentile(long[] sortedNanos, double percentile) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
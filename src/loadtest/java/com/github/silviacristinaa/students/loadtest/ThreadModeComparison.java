@@ -0,0 +1,125 @@
+package com.github.silviacristinaa.students.loadtest;
+
+import com.github.silviacristinaa.students.services.StudentService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Boots StudentsApplication once with platform threads and once with the virtual-threads profile, seeds the same
+ * number of students and drives GET /students/{id} and GET /students from a fixed number of concurrent clients.
+ * Throughput and latency percentiles of both runs are written to JSON.
+ * <p>
+ * System properties: loadtest.concurrency (400), loadtest.duration (PT30S), loadtest.warmup (PT5S),
+ * loadtest.students (10000), loadtest.pool-size (20, used by both runs so only the thread model differs),
+ * loadtest.datasource.url/username/password (in-memory H2 when absent) and
+ * loadtest.output (target/loadtest/thread-modes.json).
+ */
+public class ThreadModeComparison {
+
+    private static final String VIRTUAL_THREADS_PROFILE = "virtual-threads";
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 400);
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+        Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT5S"));
+        int students = Integer.getInteger("loadtest.students", 10_000);
+        File output = new File(System.getProperty("loadtest.output", "target/loadtest/thread-modes.json"));
+
+        List<Map<String, Object>> runs = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            runs.add(run(virtual, concurrency, warmup, duration, students));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("concurrency", concurrency);
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("students", students);
+        report.put("runs", runs);
+
+        LoadTestSupport.write(output, report);
+        System.exit(0);
+    }
+
+    private static Map<String, Object> run(boolean virtual, int concurrency, Duration warmup, Duration duration,
+                                           int students) throws Exception {
+        String mode = virtual ? "virtual" : "platform";
+        SpringApplicationBuilder builder = LoadTestSupport.application("loadtest-" + mode)
+                .properties("students.cache.enabled=false");
+        if (virtual) {
+            builder.profiles(VIRTUAL_THREADS_PROFILE);
+        }
+
+        try (ConfigurableApplicationContext context = builder.run()) {
+            long[] ids = LoadTestSupport.seed(context.getBean(StudentService.class), students).stream()
+                    .mapToLong(LoadTestSupport.Seeded::id)
+                    .toArray();
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + LoadTestSupport.CONTEXT_PATH + "/students";
+
+            drive(baseUrl, ids, concurrency, warmup);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("mode", mode);
+            result.putAll(drive(baseUrl, ids, concurrency, duration));
+            return result;
+        }
+    }
+
+    private static Map<String, Object> drive(String baseUrl, long[] ids, int concurrency, Duration duration)
+            throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<LoadTestSupport.Latencies>> futures = new ArrayList<>(concurrency);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(executor.submit(() -> client(client, baseUrl, ids, deadline)));
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        LoadTestSupport.Latencies latencies = new LoadTestSupport.Latencies();
+        for (Future<LoadTestSupport.Latencies> future : futures) {
+            latencies.addAll(future.get());
+        }
+        return latencies.summary(elapsedSeconds);
+    }
+
+    private static LoadTestSupport.Latencies client(HttpClient client, String baseUrl, long[] ids, long deadline) {
+        LoadTestSupport.Latencies latencies = new LoadTestSupport.Latencies();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            // Nine lookups by id for each page read, the mix seen on GET /students traffic
+            String path = random.nextInt(10) == 0
+                    ? "?page=" + random.nextInt(Math.max(ids.length / 20, 1)) + "&size=20"
+                    : "/" + ids[random.nextInt(ids.length)];
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30)).GET().build();
+
+            long start = System.nanoTime();
+            boolean error;
+            try {
+                error = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200;
+            } catch (Exception e) {
+                error = true;
+            }
+            latencies.record(System.nanoTime() - start, error);
+        }
+        return latencies;
+    }
+}
@@ -0,0 +1,110 @@
+package com.github.silviacristinaa.students.caches;
+
+import com.github.silviacristinaa.students.datasources.ReplicaRoutingDataSource;
+import com.github.silviacristinaa.students.dtos.responses.StudentResponseDto;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Caffeine cache that refuses fills which may be stale. A read that misses, loads a student and then puts it can
+ * straddle a write: it loads the old row, the write commits and evicts, and the put brings the old row back until
+ * it expires. So every miss takes a ticket, and the put that follows on the same thread is dropped when the key
+ * was evicted after the ticket, when the load went to the replica, or when the cache already holds a newer
+ * version of the student.
+ * <p>
+ * Evictions are tracked per stripe of keys rather than per key, so memory stays fixed; a key sharing a stripe with
+ * one just evicted only misses a fill.
+ */
+public class StudentCache extends CaffeineCache {
+
+    private static final int STRIPES = 1024;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLongArray evictions = new AtomicLongArray(STRIPES);
+    private final ThreadLocal<Fill> fill = new ThreadLocal<>();
+
+    public StudentCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+        super(name, cache, false);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        if (value == null) {
+            fill.set(new Fill(key, sequence.get(), ReplicaRoutingDataSource.replicaConnections()));
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Fill fill = this.fill.get();
+        this.fill.remove();
+        if (fill == null || !fill.key().equals(key) || evictedSince(key, fill.ticket())
+                || fill.replicaConnections() != ReplicaRoutingDataSource.replicaConnections()) {
+            return;
+        }
+        getNativeCache().asMap().merge(key, value, StudentCache::newer);
+        // An eviction that ran between the check and the merge has nothing to remove yet, so undo the fill here
+        if (evictedSince(key, fill.ticket())) {
+            getNativeCache().asMap().remove(key, value);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        evicted(key);
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        evicted(key);
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        evictedAll();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        evictedAll();
+        return super.invalidate();
+    }
+
+    private void evicted(Object key) {
+        evictions.set(stripe(key), sequence.incrementAndGet());
+    }
+
+    private void evictedAll() {
+        long evicted = sequence.incrementAndGet();
+        for (int i = 0; i < STRIPES; i++) {
+            evictions.set(i, evicted);
+        }
+    }
+
+    private boolean evictedSince(Object key, long ticket) {
+        return evictions.get(stripe(key)) > ticket;
+    }
+
+    private static int stripe(Object key) {
+        return (key.hashCode() & Integer.MAX_VALUE) % STRIPES;
+    }
+
+    private static Object newer(Object cached, Object loaded) {
+        if (cached instanceof StudentResponseDto current && loaded instanceof StudentResponseDto student
+                && current.getVersion() != null && student.getVersion() != null
+                && current.getVersion() > student.getVersion()) {
+            return cached;
+        }
+        return loaded;
+    }
+
+    private record Fill(Object key, long ticket, long replicaConnections) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.silviacristinaa.students.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that follows latency, in the style of Netflix's gradient limiter. Each completed request
+ * compares its latency with a long-term average: while they are close the limit grows by about its square root,
+ * and once latency inflates beyond {@link #TOLERANCE} times the average the limit shrinks by up to half. A request
+ * that fails server-side cuts the limit by {@link #BACKOFF_RATIO}.
+ * <p>
+ * Admission is a single compare-and-set on the in-flight count. Latency samples that arrive while another thread
+ * is updating the limit are skipped rather than waited for; drops are counted instead, and the next update applies
+ * every backoff recorded since the previous one.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    static final double TOLERANCE = 1.5;
+    static final double BACKOFF_RATIO = 0.9;
+
+    private static final double SMOOTHING = 0.2;
+    private static final double LONG_WINDOW = 600;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger pendingDrops = new AtomicInteger();
+    final ReentrantLock update = new ReentrantLock();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Ends a request admitted by {@link #tryAcquire()}, {@code dropped} when it failed server-side.
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (dropped) {
+            pendingDrops.incrementAndGet();
+        }
+        if (!update.tryLock()) {
+            return;
+        }
+        try {
+            int drops = pendingDrops.getAndSet(0);
+            if (drops > 0) {
+                setEstimatedLimit(estimatedLimit * Math.pow(BACKOFF_RATIO, drops));
+            }
+            if (!dropped) {
+                sample(Math.max(rttNanos, 1), inFlightBefore);
+            }
+        } finally {
+            update.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void sample(long rttNanos, int inFlightBefore) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+        }
+        // After a latency spike the average stays high for a long while; let it catch up with faster samples
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        // Only grow a limit the traffic is actually using
+        if (inFlightBefore < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, TOLERANCE * longRttNanos / rttNanos));
+        double next = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        setEstimatedLimit(estimatedLimit * (1 - SMOOTHING) + next * SMOOTHING);
+    }
+
+    private void setEstimatedLimit(double estimated) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimated));
+        limit = (int) estimatedLimit;
+    }
+}
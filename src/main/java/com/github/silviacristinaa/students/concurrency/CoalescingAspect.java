@@ -0,0 +1,56 @@
+package com.github.silviacristinaa.students.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces concurrent calls of {@link Coalesced} methods with equal arguments through a {@link SingleFlight} per
+ * method. It runs inside ServiceMetricsAspect, so every caller is still timed, but outside the transaction and
+ * cache advice: only the leading call opens a transaction and holds a connection, the others just wait for it.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class CoalescingAspect {
+
+    private static final String METRIC = "students.service.coalescing";
+    private static final String SERVICE = "service";
+    private static final String METHOD = "method";
+    private static final String ROLE = "role";
+    private static final String LEADER = "leader";
+    private static final String FOLLOWER = "follower";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, SingleFlight<List<Object>>> flights = new ConcurrentHashMap<>();
+
+    @Around("@annotation(com.github.silviacristinaa.students.concurrency.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return flights.computeIfAbsent(method, key -> singleFlight(joinPoint))
+                .execute(Arrays.asList(joinPoint.getArgs()), joinPoint::proceed);
+    }
+
+    private SingleFlight<List<Object>> singleFlight(ProceedingJoinPoint joinPoint) {
+        Tags tags = Tags.of(SERVICE, joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                METHOD, joinPoint.getSignature().getName());
+        return new SingleFlight<>(
+                Counter.builder(METRIC).tags(tags).tag(ROLE, LEADER).register(meterRegistry),
+                Counter.builder(METRIC).tags(tags).tag(ROLE, FOLLOWER).register(meterRegistry));
+    }
+}
@@ -0,0 +1,104 @@
+package com.github.silviacristinaa.students.concurrency;
+
+import com.github.silviacristinaa.students.enums.OperationEnum;
+import com.github.silviacristinaa.students.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admits each request to an endpoint only while its {@link AdaptiveConcurrencyLimit} has room, and rejects the
+ * rest at once with a {@link ServiceUnavailableException} instead of letting them queue for a database connection.
+ * Every endpoint, identified like in http.server.requests by its method and uri pattern, has its own limit, started
+ * and bounded with the read or write settings.
+ * <p>
+ * A streamed response holds its slot until the async dispatch that completes it.
+ */
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String LIMIT_METRIC = "students.concurrency.limit";
+    private static final String IN_FLIGHT_METRIC = "students.concurrency.inflight";
+    private static final String REJECTED_METRIC = "students.concurrency.rejected";
+    private static final String METHOD = "method";
+    private static final String URI = "uri";
+    private static final String OPERATION = "operation";
+    private static final String REJECTED = "Too many concurrent requests, retry later";
+    private static final String ADMISSION = ConcurrencyLimitInterceptor.class.getName() + ".admission";
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Map<OperationEnum, Limits> limits;
+    private final long retryAfterSeconds;
+
+    public ConcurrencyLimitInterceptor(MeterRegistry meterRegistry, Limits read, Limits write, Duration retryAfter) {
+        this.meterRegistry = meterRegistry;
+        this.limits = Map.of(OperationEnum.READ, read, OperationEnum.WRITE, write);
+        this.retryAfterSeconds = Math.max(retryAfter.toSeconds(), 1);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws ServiceUnavailableException {
+        // The async dispatch of a streamed response was admitted with the request that started it
+        if (!(handler instanceof HandlerMethod) || request.getAttribute(ADMISSION) != null) {
+            return true;
+        }
+        Endpoint endpoint = endpoint(request);
+        if (!endpoint.limit.tryAcquire()) {
+            endpoint.rejected.increment();
+            throw new ServiceUnavailableException(REJECTED, retryAfterSeconds);
+        }
+        request.setAttribute(ADMISSION, new Admission(endpoint.limit, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.isAsyncStarted() || !(request.getAttribute(ADMISSION) instanceof Admission admission)) {
+            return;
+        }
+        request.removeAttribute(ADMISSION);
+        admission.limit.release(System.nanoTime() - admission.startNanos,
+                ex != null || response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+    }
+
+    private Endpoint endpoint(HttpServletRequest request) {
+        String method = request.getMethod();
+        String uri = String.valueOf(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+        return endpoints.computeIfAbsent(method + ' ' + uri, key -> {
+            OperationEnum operation = OperationEnum.of(method);
+            Limits settings = limits.get(operation);
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(settings.initialLimit(),
+                    settings.minLimit(), settings.maxLimit());
+            Tags tags = Tags.of(METHOD, method, URI, uri, OPERATION, operation.tag());
+            Gauge.builder(LIMIT_METRIC, limit, AdaptiveConcurrencyLimit::getLimit).tags(tags)
+                    .register(meterRegistry);
+            Gauge.builder(IN_FLIGHT_METRIC, limit, AdaptiveConcurrencyLimit::getInFlight).tags(tags)
+                    .register(meterRegistry);
+            return new Endpoint(limit, Counter.builder(REJECTED_METRIC).tags(tags).register(meterRegistry));
+        });
+    }
+
+    /**
+     * Initial, lower and upper bound of the limit of each read or write endpoint.
+     */
+    public record Limits(int initialLimit, int minLimit, int maxLimit) {
+    }
+
+    private record Endpoint(AdaptiveConcurrencyLimit limit, Counter rejected) {
+    }
+
+    private record Admission(AdaptiveConcurrencyLimit limit, long startNanos) {
+    }
+}
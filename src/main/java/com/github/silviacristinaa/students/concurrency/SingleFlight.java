@@ -0,0 +1,105 @@
+package com.github.silviacristinaa.students.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Shares calls per key between concurrent callers, but only calls that start after the caller arrived: a call
+ * already running may have read what the caller has since seen written. A caller that finds a call running waits
+ * for it to end and then shares the next one with every caller that arrived in the meantime, so there is at most one
+ * running and one waiting call per key. Nothing is kept once a call returns.
+ */
+public class SingleFlight<K> {
+
+    private final ConcurrentHashMap<K, Lane> lanes = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public SingleFlight(Counter leaders, Counter followers) {
+        this.leaders = leaders;
+        this.followers = followers;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <V> V execute(K key, Call<V> call) throws Throwable {
+        Flight[] joined = new Flight[1];
+        boolean[] leading = new boolean[1];
+        lanes.compute(key, (ignored, lane) -> {
+            Lane current = lane == null ? new Lane() : lane;
+            if (current.waiting != null) {
+                joined[0] = current.waiting;
+            } else if (current.running == null) {
+                joined[0] = current.running = new Flight(null);
+                leading[0] = true;
+            } else {
+                joined[0] = current.waiting = new Flight(current.running);
+                leading[0] = true;
+            }
+            return current;
+        });
+        Flight flight = joined[0];
+
+        if (!leading[0]) {
+            followers.increment();
+            try {
+                return (V) flight.result.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+
+        leaders.increment();
+        try {
+            if (flight.after != null) {
+                // Whatever the running call ends with, this one starts afresh; no one can join it from here on
+                flight.after.result.handle((result, throwable) -> null).join();
+                lanes.computeIfPresent(key, (ignored, lane) -> {
+                    lane.running = flight;
+                    lane.waiting = null;
+                    return lane;
+                });
+            }
+            V result = call.call();
+            flight.result.complete(result);
+            return result;
+        } catch (Throwable throwable) {
+            flight.result.completeExceptionally(throwable);
+            throw throwable;
+        } finally {
+            lanes.computeIfPresent(key, (ignored, lane) -> {
+                if (lane.running == flight) {
+                    lane.running = null;
+                }
+                return lane.running == null && lane.waiting == null ? null : lane;
+            });
+        }
+    }
+
+    @FunctionalInterface
+    public interface Call<V> {
+
+        V call() throws Throwable;
+    }
+
+    /**
+     * The running and the waiting call of a key, only read and written inside the map's compute functions.
+     */
+    private static class Lane {
+
+        private Flight running;
+        private Flight waiting;
+    }
+
+    private static class Flight {
+
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final Flight after;
+
+        private Flight(Flight after) {
+            this.after = after;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.silviacristinaa.students.configs;
+
+import com.github.silviacristinaa.students.caches.StudentCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String STUDENTS = "students";
+
+    /**
+     * Evictions issued inside a transaction are deferred until it commits, so a rolled back or still
+     * running write never drops a cached student that another request could then reload with stale data.
+     * A read that loaded the student before that commit cannot put it back afterwards: see {@link StudentCache}.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "students.cache.enabled", havingValue = "true", matchIfMissing = true)
+    public CacheManager cacheManager(@Value("${students.cache.spec}") String spec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(STUDENTS) {
+            @Override
+            protected Cache adaptCaffeineCache(String name,
+                                               com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new StudentCache(name, cache);
+            }
+        };
+        cacheManager.setCacheSpecification(spec);
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "students.cache.enabled", havingValue = "false")
+    public CacheManager noOpCacheManager() {
+        return new NoOpCacheManager();
+    }
+}
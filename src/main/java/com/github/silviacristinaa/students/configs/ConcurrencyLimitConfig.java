@@ -0,0 +1,48 @@
+package com.github.silviacristinaa.students.configs;
+
+import com.github.silviacristinaa.students.concurrency.ConcurrencyLimitInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Puts adaptive concurrency limits in front of the StudentResource endpoints when students.concurrency is enabled.
+ */
+@Configuration
+@ConditionalOnProperty(name = "students.concurrency.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    private static final String[] STUDENT_PATHS = {"/students", "/students/**"};
+
+    @Bean
+    public ConcurrencyLimitInterceptor concurrencyLimitInterceptor(
+            MeterRegistry meterRegistry,
+            @Value("${students.concurrency.read.initial-limit}") int readInitialLimit,
+            @Value("${students.concurrency.read.min-limit}") int readMinLimit,
+            @Value("${students.concurrency.read.max-limit}") int readMaxLimit,
+            @Value("${students.concurrency.write.initial-limit}") int writeInitialLimit,
+            @Value("${students.concurrency.write.min-limit}") int writeMinLimit,
+            @Value("${students.concurrency.write.max-limit}") int writeMaxLimit,
+            @Value("${students.concurrency.retry-after}") Duration retryAfter) {
+        return new ConcurrencyLimitInterceptor(meterRegistry,
+                new ConcurrencyLimitInterceptor.Limits(readInitialLimit, readMinLimit, readMaxLimit),
+                new ConcurrencyLimitInterceptor.Limits(writeInitialLimit, writeMinLimit, writeMaxLimit),
+                retryAfter);
+    }
+
+    @Bean
+    public WebMvcConfigurer concurrencyLimitConfigurer(ConcurrencyLimitInterceptor concurrencyLimitInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(concurrencyLimitInterceptor).addPathPatterns(STUDENT_PATHS);
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.silviacristinaa.students.configs;
+
+import com.github.silviacristinaa.students.datasources.ReplicaRoutingDataSource;
+import com.github.silviacristinaa.students.enums.DataSourceEnum;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseDataSource;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Replaces the auto-configured DataSource with a primary and a replica pool when students.datasource.replica
+ * is enabled. Liquibase always migrates the primary; everything else goes through the routing DataSource.
+ */
+@Configuration
+@ConditionalOnProperty(name = "students.datasource.replica.enabled", havingValue = "true")
+public class DataSourceConfig {
+
+    @Bean
+    @LiquibaseDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(DataSourceEnum.PRIMARY.tag());
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("students.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${students.datasource.replica.url}") String url,
+                                              @Value("${students.datasource.replica.username}") String username,
+                                              @Value("${students.datasource.replica.password}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setPoolName(DataSourceEnum.REPLICA.tag());
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${students.datasource.replica.lag-query}") String lagQuery,
+            @Value("${students.datasource.replica.max-lag}") Duration maxLag) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, meterRegistry, lagQuery, maxLag);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
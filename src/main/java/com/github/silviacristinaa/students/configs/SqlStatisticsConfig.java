@@ -0,0 +1,54 @@
+package com.github.silviacristinaa.students.configs;
+
+import com.github.silviacristinaa.students.datasources.StatisticsDataSource;
+import com.github.silviacristinaa.students.metrics.RequestStatistics;
+import org.hibernate.Interceptor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Per-request database statistics in place of show-sql: the DataSource the application uses is wrapped in a
+ * {@link StatisticsDataSource} and Hibernate counts the entities it loads.
+ */
+@Configuration
+public class SqlStatisticsConfig {
+
+    private static final String DATA_SOURCE = "dataSource";
+
+    /**
+     * Wraps only the bean named dataSource: the auto-configured pool, or the routing proxy with the replica profile.
+     */
+    @Bean
+    public static BeanPostProcessor statisticsDataSourcePostProcessor(
+            @Value("${students.sql.slow-threshold}") Duration slowThreshold) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && DATA_SOURCE.equals(beanName)
+                        ? new StatisticsDataSource(dataSource, slowThreshold) : bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityLoadStatistics() {
+        return properties -> properties.put(AvailableSettings.INTERCEPTOR, new Interceptor() {
+            @Override
+            public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+                RequestStatistics statistics = RequestStatistics.current();
+                if (statistics != null) {
+                    statistics.entityLoaded();
+                }
+                return false;
+            }
+        });
+    }
+}
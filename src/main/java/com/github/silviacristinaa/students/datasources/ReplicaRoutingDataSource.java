@@ -0,0 +1,117 @@
+package com.github.silviacristinaa.students.datasources;
+
+import com.github.silviacristinaa.students.enums.DataSourceEnum;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Sends connections of read-only transactions to the replica pool and everything else to the primary.
+ * It has to sit behind a LazyConnectionDataSourceProxy so the pool is picked on the first statement, once the
+ * transaction's read-only flag is known. Reads go back to the primary while the replica lags more than
+ * {@code maxLag} or cannot be reached.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String CONNECTIONS_METRIC = "students.datasource.connections";
+    private static final String LAG_METRIC = "students.datasource.replica.lag";
+    private static final String AVAILABLE_METRIC = "students.datasource.replica.available";
+    private static final String TARGET = "target";
+    private static final String TRANSACTION = "transaction";
+    private static final String READ_ONLY = "read_only";
+    private static final String READ_WRITE = "read_write";
+    private static final ThreadLocal<long[]> REPLICA_CONNECTIONS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final JdbcTemplate replica;
+    private final Map<DataSourceEnum, Counter> readOnlyConnections = new EnumMap<>(DataSourceEnum.class);
+    private final Map<DataSourceEnum, Counter> readWriteConnections = new EnumMap<>(DataSourceEnum.class);
+    private final String lagQuery;
+    private final double maxLagSeconds;
+
+    private volatile boolean replicaAvailable;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry,
+                                    String lagQuery, Duration maxLag) {
+        this.replica = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+
+        setTargetDataSources(Map.of(DataSourceEnum.PRIMARY, primary, DataSourceEnum.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+
+        for (DataSourceEnum target : DataSourceEnum.values()) {
+            readOnlyConnections.put(target, meterRegistry.counter(CONNECTIONS_METRIC, TARGET, target.tag(),
+                    TRANSACTION, READ_ONLY));
+            readWriteConnections.put(target, meterRegistry.counter(CONNECTIONS_METRIC, TARGET, target.tag(),
+                    TRANSACTION, READ_WRITE));
+        }
+        Gauge.builder(LAG_METRIC, this, routing -> routing.lagSeconds).baseUnit("seconds").register(meterRegistry);
+        Gauge.builder(AVAILABLE_METRIC, this, routing -> routing.replicaAvailable ? 1 : 0).register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicaLag();
+    }
+
+    /**
+     * Connections this thread has taken from the replica so far. Whoever must not trust a possibly lagging read,
+     * such as a cache fill, compares it before and after the read.
+     */
+    public static long replicaConnections() {
+        return REPLICA_CONNECTIONS.get()[0];
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    @Scheduled(fixedDelayString = "${students.datasource.replica.lag-check-interval}",
+            initialDelayString = "${students.datasource.replica.lag-check-interval}")
+    public void checkReplicaLag() {
+        boolean available;
+        try {
+            Double lag = replica.queryForObject(lagQuery, Double.class);
+            lagSeconds = lag == null ? 0 : lag;
+            available = lagSeconds <= maxLagSeconds;
+            if (!available && replicaAvailable) {
+                log.warn("Replica is {}s behind, routing reads to the primary", lagSeconds);
+            }
+        } catch (DataAccessException e) {
+            lagSeconds = Double.NaN;
+            available = false;
+            if (replicaAvailable) {
+                log.warn("Replica lag check failed, routing reads to the primary: {}", e.getMessage());
+            }
+        }
+        if (available && !replicaAvailable) {
+            log.info("Replica is {}s behind, routing reads to it", lagSeconds);
+        }
+        replicaAvailable = available;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        DataSourceEnum target = readOnly && replicaAvailable ? DataSourceEnum.REPLICA : DataSourceEnum.PRIMARY;
+        if (target == DataSourceEnum.REPLICA) {
+            REPLICA_CONNECTIONS.get()[0]++;
+        }
+        (readOnly ? readOnlyConnections : readWriteConnections).get(target).increment();
+        return target;
+    }
+}
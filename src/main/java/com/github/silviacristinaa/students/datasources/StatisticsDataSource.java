@@ -0,0 +1,133 @@
+package com.github.silviacristinaa.students.datasources;
+
+import com.github.silviacristinaa.students.metrics.RequestStatistics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * Counts and times every statement executed through the target DataSource into the current
+ * {@link RequestStatistics}. The SQL of statements slower than {@code slowThreshold}, or executed by a sampled
+ * request, is logged with its string and numeric literals replaced by {@code ?}; bind parameters are never logged.
+ * Work done outside JDBC statements, such as a PostgreSQL COPY, is not counted.
+ */
+@Slf4j
+public class StatisticsDataSource extends DelegatingDataSource {
+
+    private static final Pattern LITERALS = Pattern.compile("'(?:[^']|'')*'|\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String PLACEHOLDER = "?";
+    private static final String EXECUTE = "execute";
+    private static final String GET_CONNECTION = "getConnection";
+    private static final String EQUALS = "equals";
+    private static final String HASH_CODE = "hashCode";
+
+    private final long slowThresholdNanos;
+
+    public StatisticsDataSource(DataSource targetDataSource, Duration slowThreshold) {
+        super(targetDataSource);
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    /**
+     * SQL with its literals redacted and its whitespace collapsed, as it is logged.
+     */
+    public static String redact(String sql) {
+        if (sql == null) {
+            return "<batch>";
+        }
+        return WHITESPACE.matcher(LITERALS.matcher(sql).replaceAll(PLACEHOLDER)).replaceAll(" ").trim();
+    }
+
+    private Connection connection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object identity = identity(proxy, method, args);
+                    if (identity != null) {
+                        return identity;
+                    }
+                    Object result = invoke(target, method, args);
+                    // prepareStatement and prepareCall take the SQL first; createStatement takes it on execute
+                    if (result instanceof Statement statement) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                        return statement(statement, method.getReturnType(), sql, (Connection) proxy);
+                    }
+                    return result;
+                });
+    }
+
+    private Statement statement(Statement target, Class<?> type, String preparedSql, Connection connection) {
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    Object identity = identity(proxy, method, args);
+                    if (identity != null) {
+                        return identity;
+                    }
+                    if (GET_CONNECTION.equals(method.getName())) {
+                        return connection;
+                    }
+                    if (!method.getName().startsWith(EXECUTE)) {
+                        return invoke(target, method, args);
+                    }
+                    long start = System.nanoTime();
+                    try {
+                        return invoke(target, method, args);
+                    } finally {
+                        executed(args != null && args.length > 0 && args[0] instanceof String sql ? sql : preparedSql,
+                                System.nanoTime() - start);
+                    }
+                });
+    }
+
+    private void executed(String sql, long nanos) {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.statementExecuted(nanos);
+        }
+        if (nanos >= slowThresholdNanos) {
+            log.warn("Slow statement took {} ms: {}", nanos / 1e6, redact(sql));
+        } else if (statistics != null && statistics.isSampled()) {
+            log.info("Statement took {} ms: {}", nanos / 1e6, redact(sql));
+        }
+    }
+
+    /**
+     * Proxies are equal only to themselves, so JDBC resources can still be tracked in hash-based collections.
+     */
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        if (EQUALS.equals(method.getName()) && method.getParameterCount() == 1) {
+            return proxy == args[0];
+        }
+        if (HASH_CODE.equals(method.getName()) && method.getParameterCount() == 0) {
+            return System.identityHashCode(proxy);
+        }
+        return null;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
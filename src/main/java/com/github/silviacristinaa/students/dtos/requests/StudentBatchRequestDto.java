@@ -0,0 +1,21 @@
+package com.github.silviacristinaa.students.dtos.requests;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+public class StudentBatchRequestDto {
+
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@Valid StudentRequestDto> students;
+}
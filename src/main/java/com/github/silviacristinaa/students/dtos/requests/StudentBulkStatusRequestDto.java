@@ -0,0 +1,27 @@
+package com.github.silviacristinaa.students.dtos.requests;
+
+import com.github.silviacristinaa.students.enums.CourseEnum;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Selects students either by ids or by course and/or current status, never both.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+public class StudentBulkStatusRequestDto {
+
+    @Size(max = 100000)
+    private List<@NotNull Long> ids;
+    private CourseEnum course;
+    private Boolean currentActive;
+    @NotNull
+    private Boolean active;
+}
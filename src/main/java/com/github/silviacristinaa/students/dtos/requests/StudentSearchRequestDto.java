@@ -0,0 +1,18 @@
+package com.github.silviacristinaa.students.dtos.requests;
+
+import com.github.silviacristinaa.students.enums.CourseEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+public class StudentSearchRequestDto {
+
+    private CourseEnum course;
+    private Boolean active;
+    private String name;
+    private String registration;
+}
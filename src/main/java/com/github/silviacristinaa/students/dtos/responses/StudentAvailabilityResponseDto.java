@@ -0,0 +1,17 @@
+package com.github.silviacristinaa.students.dtos.responses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StudentAvailabilityResponseDto {
+
+    private Boolean cpfAvailable;
+    private Boolean emailAvailable;
+}
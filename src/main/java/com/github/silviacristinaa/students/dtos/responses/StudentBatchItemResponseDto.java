@@ -0,0 +1,20 @@
+package com.github.silviacristinaa.students.dtos.responses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.github.silviacristinaa.students.enums.BatchItemStatusEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StudentBatchItemResponseDto {
+
+    private int index;
+    private Long id;
+    private BatchItemStatusEnum status;
+    private String error;
+}
@@ -0,0 +1,19 @@
+package com.github.silviacristinaa.students.dtos.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+public class StudentBulkStatusResponseDto {
+
+    private int updated;
+    private int unchanged;
+    private List<Long> affected;
+    private List<Long> missing;
+}
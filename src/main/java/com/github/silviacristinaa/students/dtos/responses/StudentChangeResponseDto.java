@@ -0,0 +1,44 @@
+package com.github.silviacristinaa.students.dtos.responses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.github.silviacristinaa.students.enums.ChangeTypeEnum;
+import com.github.silviacristinaa.students.enums.CourseEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+/**
+ * One entry of the change feed: the current state of a created or updated student, or the id of a deleted one.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StudentChangeResponseDto {
+
+    private long sequence;
+    private ChangeTypeEnum type;
+    private OffsetDateTime changedAt;
+    private Long id;
+    private StudentResponseDto student;
+
+    /**
+     * Selected by StudentRepository for a created or updated student.
+     */
+    public StudentChangeResponseDto(Long sequence, OffsetDateTime changedAt, Long id, String name, String cpf,
+                                    String email, String registration, CourseEnum course, boolean active,
+                                    Long version) {
+        this(sequence, ChangeTypeEnum.UPSERT, changedAt, id,
+                new StudentResponseDto(id, name, cpf, email, registration, course, active, version));
+    }
+
+    /**
+     * Selected by StudentTombstoneRepository for a deleted student.
+     */
+    public StudentChangeResponseDto(Long sequence, OffsetDateTime changedAt, Long id) {
+        this(sequence, ChangeTypeEnum.DELETE, changedAt, id, null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.github.silviacristinaa.students.dtos.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+public class StudentChangesResponseDto {
+
+    private List<StudentChangeResponseDto> content;
+    private int size;
+    private String next;
+}
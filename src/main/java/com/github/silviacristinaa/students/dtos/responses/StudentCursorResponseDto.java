@@ -0,0 +1,20 @@
+package com.github.silviacristinaa.students.dtos.responses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StudentCursorResponseDto {
+
+    private List<StudentResponseDto> content;
+    private int size;
+    private String next;
+}
@@ -0,0 +1,17 @@
+package com.github.silviacristinaa.students.dtos.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+public class StudentImportErrorResponseDto {
+
+    private long line;
+    private List<String> errors;
+}
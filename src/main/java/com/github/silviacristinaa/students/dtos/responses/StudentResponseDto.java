@@ -18,4 +18,5 @@ public class StudentResponseDto {
     private String registration;
     private CourseEnum course;
     private boolean active;
+    private Long version;
 }
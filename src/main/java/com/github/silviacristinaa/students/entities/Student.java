@@ -7,6 +7,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.OffsetDateTime;
+
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
@@ -14,7 +16,8 @@ import lombok.Setter;
 public class Student {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_seq")
+    @SequenceGenerator(name = "student_seq", sequenceName = "student_seq", allocationSize = 50)
     private Long id;
     @Column(nullable = false)
     private String name;
@@ -29,4 +32,16 @@ public class Student {
     private CourseEnum course;
     @Column(nullable = false)
     private boolean active;
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    /**
+     * Position in the change feed. Inserts and every update statement in StudentRepository leave it null, and
+     * StudentChangeRepository draws it from student_change_seq once the write has committed. Writes through dirty
+     * checking would leave it behind.
+     */
+    @Column(insertable = false, updatable = false)
+    private Long changeSeq;
+    @Column(insertable = false, updatable = false)
+    private OffsetDateTime updatedAt;
 }
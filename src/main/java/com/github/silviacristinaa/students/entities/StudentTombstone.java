@@ -0,0 +1,27 @@
+package com.github.silviacristinaa.students.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Left behind by a deleted student so that the change feed can report the deletion.
+ */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+public class StudentTombstone {
+
+    @Id
+    private Long studentId;
+    private Long changeSeq;
+    @Column(nullable = false)
+    private OffsetDateTime deletedAt;
+}
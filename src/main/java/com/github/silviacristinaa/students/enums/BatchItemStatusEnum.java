@@ -0,0 +1,5 @@
+package com.github.silviacristinaa.students.enums;
+
+public enum BatchItemStatusEnum {
+    CREATED, CONFLICT;
+}
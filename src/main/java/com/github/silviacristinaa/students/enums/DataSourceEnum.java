@@ -0,0 +1,12 @@
+package com.github.silviacristinaa.students.enums;
+
+/**
+ * Connection pools behind the routing DataSource, also used as their Hikari pool names and metric tags.
+ */
+public enum DataSourceEnum {
+    PRIMARY, REPLICA;
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,20 @@
+package com.github.silviacristinaa.students.enums;
+
+import org.springframework.http.HttpMethod;
+
+/**
+ * Whether a request only reads students or changes them, which gives it separate concurrency limits.
+ */
+public enum OperationEnum {
+    READ, WRITE;
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+
+    public static OperationEnum of(String method) {
+        HttpMethod httpMethod = HttpMethod.valueOf(method);
+        return HttpMethod.GET.equals(httpMethod) || HttpMethod.HEAD.equals(httpMethod)
+                || HttpMethod.OPTIONS.equals(httpMethod) ? READ : WRITE;
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.silviacristinaa.students.enums;
+
+import com.github.silviacristinaa.students.exceptions.BadRequestException;
+import com.github.silviacristinaa.students.exceptions.ConflictException;
+import com.github.silviacristinaa.students.exceptions.NotFoundException;
+import com.github.silviacristinaa.students.exceptions.PreconditionFailedException;
+import com.github.silviacristinaa.students.exceptions.ServiceUnavailableException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Result of a request or service call as reported in metrics, one per GlobalExceptionHandler branch.
+ */
+public enum OutcomeEnum {
+    OK, BAD_REQUEST, NOT_FOUND, CONFLICT, PRECONDITION_FAILED, UNAVAILABLE, ERROR;
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+
+    public static OutcomeEnum of(Throwable throwable) {
+        if (throwable == null) {
+            return OK;
+        }
+        if (throwable instanceof NotFoundException) {
+            return NOT_FOUND;
+        }
+        if (throwable instanceof ConflictException || throwable instanceof OptimisticLockingFailureException) {
+            return CONFLICT;
+        }
+        if (throwable instanceof DataIntegrityViolationException && UniqueKeyEnum.of(throwable).isPresent()) {
+            return CONFLICT;
+        }
+        if (throwable instanceof PreconditionFailedException) {
+            return PRECONDITION_FAILED;
+        }
+        if (throwable instanceof BadRequestException) {
+            return BAD_REQUEST;
+        }
+        if (throwable instanceof ServiceUnavailableException) {
+            return UNAVAILABLE;
+        }
+        return ERROR;
+    }
+
+    public static OutcomeEnum of(int status) {
+        if (status == HttpStatus.NOT_FOUND.value()) {
+            return NOT_FOUND;
+        }
+        if (status == HttpStatus.CONFLICT.value()) {
+            return CONFLICT;
+        }
+        if (status == HttpStatus.PRECONDITION_FAILED.value()) {
+            return PRECONDITION_FAILED;
+        }
+        if (status >= 400 && status < 500) {
+            return BAD_REQUEST;
+        }
+        if (status == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            return UNAVAILABLE;
+        }
+        return status >= 500 ? ERROR : OK;
+    }
+}
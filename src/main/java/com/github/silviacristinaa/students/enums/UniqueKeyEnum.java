@@ -0,0 +1,51 @@
+package com.github.silviacristinaa.students.enums;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Unique columns of the student table. The constraints were created unnamed, so a violation is matched by its
+ * column: PostgreSQL names the constraint student_cpf_key and H2 quotes the indexed columns, STUDENT(CPF ...).
+ */
+public enum UniqueKeyEnum {
+    CPF("CPF already registered in the system"),
+    EMAIL("Email already registered in the system"),
+    REGISTRATION("Registration already assigned to another student");
+
+    private final String message;
+
+    UniqueKeyEnum(String message) {
+        this.message = message;
+    }
+
+    public String message() {
+        return message;
+    }
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+
+    /**
+     * The key whose unique constraint was violated somewhere in the causes of the given exception, if any.
+     */
+    public static Optional<UniqueKeyEnum> of(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null && cause != cause.getCause(); cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+                String constraint = String.valueOf(violation.getConstraintName()).toLowerCase(Locale.ROOT);
+                String sqlMessage = String.valueOf(violation.getSQLException().getMessage()).toLowerCase(Locale.ROOT);
+                for (UniqueKeyEnum key : values()) {
+                    if (constraint.contains("_" + key.tag() + "_") || constraint.contains("(" + key.tag() + " ")
+                            || sqlMessage.contains("(" + key.tag() + ")")
+                            || sqlMessage.contains("(" + key.tag() + " ")) {
+                        return Optional.of(key);
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+}
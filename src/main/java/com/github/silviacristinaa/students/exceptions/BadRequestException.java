@@ -0,0 +1,10 @@
+package com.github.silviacristinaa.students.exceptions;
+
+public class BadRequestException extends Exception{
+
+    private static final long serialVersionUID = 1L;
+
+    public BadRequestException(final String error) {
+        super(error, null, false, false);
+    }
+}
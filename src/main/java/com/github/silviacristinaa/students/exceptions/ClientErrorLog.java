@@ -0,0 +1,56 @@
+package com.github.silviacristinaa.students.exceptions;
+
+import org.slf4j.Logger;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logs 4xx outcomes and shed requests at most once per interval for each status and exception type. A line
+ * carries the message of the request that wrote it and how many requests ended the same way since the previous
+ * line; occurrences after the last line of a burst are only counted into the next one.
+ */
+class ClientErrorLog {
+
+    private static final String LOG_MSG = "e={},m={},s={},count={}";
+
+    private final Logger log;
+    private final long intervalNanos;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    ClientErrorLog(Logger log, Duration interval) {
+        this.log = log;
+        this.intervalNanos = interval.toNanos();
+    }
+
+    void log(HttpStatus status, Exception ex) {
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+        String type = ex.getClass().getSimpleName();
+        Window window = windows.computeIfAbsent(status.value() + type,
+                key -> new Window(System.nanoTime() - intervalNanos));
+        window.count.increment();
+
+        long now = System.nanoTime();
+        long lastLogged = window.lastLogged.get();
+        if (now - lastLogged < intervalNanos || !window.lastLogged.compareAndSet(lastLogged, now)) {
+            return;
+        }
+        log.warn(LOG_MSG, type, ex.getMessage(), status.value(), window.count.sumThenReset());
+    }
+
+    private static class Window {
+
+        private final AtomicLong lastLogged;
+        private final LongAdder count = new LongAdder();
+
+        private Window(long lastLogged) {
+            this.lastLogged = new AtomicLong(lastLogged);
+        }
+    }
+}
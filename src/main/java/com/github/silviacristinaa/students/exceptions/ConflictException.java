@@ -5,6 +5,10 @@ public class ConflictException extends Exception{
     private static final long serialVersionUID = 1L;
 
     public ConflictException(final String error) {
-        super(error);
+        super(error, null, false, false);
+    }
+
+    public ConflictException(final String error, final Throwable cause) {
+        super(error, cause, false, false);
     }
 }
@@ -1,6 +1,11 @@
 package com.github.silviacristinaa.students.exceptions;
 
+import com.github.silviacristinaa.students.enums.UniqueKeyEnum;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -9,8 +14,15 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Optional;
 
+/**
+ * Maps exceptions to error responses. A 4xx is an expected outcome, so its exceptions carry no stack trace and it
+ * is logged through a {@link ClientErrorLog} that aggregates it per interval; a 5xx is logged in full every time,
+ * except a 503 for shed load, which goes through the same aggregated log.
+ */
 @Slf4j
 @ControllerAdvice
 public class GlobalExceptionHandler {
@@ -19,22 +31,32 @@ public class GlobalExceptionHandler {
     private static final String EXCEPTION_MSG_ARGUMENTS_NOT_VALID = "Arguments not valid";
     private static final String CONFLICT = "Conflict";
     private static final String NOT_FOUND_MSG = "Not found";
+    private static final String PRECONDITION_FAILED = "Precondition failed";
+    private static final String SERVICE_UNAVAILABLE = "Service unavailable";
+    private static final String CONCURRENT_UPDATE = "The student was changed by another request, reload it and retry";
 
-    private static final String EXCEPTION_LOG_MSG = "e=%s,m=%s";
+    private static final String EXCEPTION_LOG_MSG = "e={},m={}";
+
+    private final ClientErrorLog clientErrorLog;
+
+    public GlobalExceptionHandler(@Value("${students.errors.client-log-interval}") Duration clientLogInterval) {
+        this.clientErrorLog = new ClientErrorLog(log, clientLogInterval);
+    }
 
     @ExceptionHandler(Exception.class)
     @ResponseStatus(value = HttpStatus.INTERNAL_SERVER_ERROR)
     public ResponseEntity<ErrorMessage> processException(final Exception ex) {
-        logE(ex);
+        log.error(EXCEPTION_LOG_MSG, ex.getClass().getSimpleName(), ex.getMessage(), ex);
 
         return new ResponseEntity<>(ErrorMessage.builder().message(EXCEPTION_MSG_INTERNAL_SERVER_ERROR)
                 .errors(Arrays.asList(ex.getMessage())).build(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
-    @ExceptionHandler({MethodArgumentNotValidException.class, MethodArgumentTypeMismatchException.class})
+    @ExceptionHandler({MethodArgumentNotValidException.class, MethodArgumentTypeMismatchException.class,
+            BadRequestException.class})
     @ResponseStatus(value = HttpStatus.BAD_REQUEST)
     public ResponseEntity<ErrorMessage> handleMethodArgumentInvalidException(final Exception ex) {
-        logE(ex);
+        clientErrorLog.log(HttpStatus.BAD_REQUEST, ex);
 
         return new ResponseEntity<>(ErrorMessage.builder().message(EXCEPTION_MSG_ARGUMENTS_NOT_VALID)
                 .errors(Arrays.asList(ex.getMessage())).build(), HttpStatus.BAD_REQUEST);
@@ -42,24 +64,66 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ConflictException.class)
     public ResponseEntity<ErrorMessage> handleMethodArgumentConflictException(final ConflictException ex) {
-        logE(ex);
+        clientErrorLog.log(HttpStatus.CONFLICT, ex);
 
         final ErrorMessage errorMessage = ErrorMessage.builder().message(CONFLICT)
                 .errors(Arrays.asList(ex.getMessage())).build();
         return new ResponseEntity<>(errorMessage, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Writes no longer check CPF and email up front, so a taken one surfaces here from its unique constraint.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorMessage> handleDataIntegrityViolationException(
+            final DataIntegrityViolationException ex) {
+        Optional<UniqueKeyEnum> key = UniqueKeyEnum.of(ex);
+        if (key.isEmpty()) {
+            return processException(ex);
+        }
+        return handleMethodArgumentConflictException(new ConflictException(key.get().message(), ex));
+    }
+
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<ErrorMessage> handleMethodArgumentNotFoundException(final NotFoundException ex) {
-        logE(ex);
+        clientErrorLog.log(HttpStatus.NOT_FOUND, ex);
 
         final ErrorMessage errorMessage = ErrorMessage.builder().message(NOT_FOUND_MSG)
                 .errors(Arrays.asList(ex.getMessage())).build();
         return new ResponseEntity<>(errorMessage, HttpStatus.NOT_FOUND);
     }
 
-    private static void logE(final Exception e) {
-        final String message = String.format(EXCEPTION_LOG_MSG, e.getClass().getSimpleName(), e.getMessage());
-        log.error(message, e);
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorMessage> handleOptimisticLockingFailureException(
+            final OptimisticLockingFailureException ex) {
+        clientErrorLog.log(HttpStatus.CONFLICT, ex);
+
+        final ErrorMessage errorMessage = ErrorMessage.builder().message(CONFLICT)
+                .errors(Arrays.asList(CONCURRENT_UPDATE)).build();
+        return new ResponseEntity<>(errorMessage, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorMessage> handlePreconditionFailedException(final PreconditionFailedException ex) {
+        clientErrorLog.log(HttpStatus.PRECONDITION_FAILED, ex);
+
+        final ErrorMessage errorMessage = ErrorMessage.builder().message(PRECONDITION_FAILED)
+                .errors(Arrays.asList(ex.getMessage())).build();
+        return new ResponseEntity<>(errorMessage, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Shed load is logged once per interval with a count, since a line per shed request would only add to the
+     * overload that caused it.
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorMessage> handleServiceUnavailableException(final ServiceUnavailableException ex) {
+        clientErrorLog.log(HttpStatus.SERVICE_UNAVAILABLE, ex);
+
+        final ErrorMessage errorMessage = ErrorMessage.builder().message(SERVICE_UNAVAILABLE)
+                .errors(Arrays.asList(ex.getMessage())).build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorMessage);
     }
 }
@@ -5,6 +5,6 @@ public class NotFoundException extends Exception{
     private static final long serialVersionUID = 1L;
 
     public NotFoundException(final String error) {
-        super(error);
+        super(error, null, false, false);
     }
 }
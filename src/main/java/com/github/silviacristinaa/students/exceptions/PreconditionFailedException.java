@@ -0,0 +1,10 @@
+package com.github.silviacristinaa.students.exceptions;
+
+public class PreconditionFailedException extends Exception{
+
+    private static final long serialVersionUID = 1L;
+
+    public PreconditionFailedException(final String error) {
+        super(error, null, false, false);
+    }
+}
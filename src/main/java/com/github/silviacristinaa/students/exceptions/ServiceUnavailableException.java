@@ -0,0 +1,17 @@
+package com.github.silviacristinaa.students.exceptions;
+
+public class ServiceUnavailableException extends Exception{
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(final String error, final long retryAfterSeconds) {
+        super(error, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.silviacristinaa.students.mappers;
+
+import com.github.silviacristinaa.students.dtos.requests.StudentRequestDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentResponseDto;
+import com.github.silviacristinaa.students.entities.Student;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Implemented at compile time by MapStruct with plain getter/setter calls. Any target property left
+ * unmapped fails the build.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface StudentMapper {
+
+    StudentResponseDto toResponseDto(Student student);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "registration", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "changeSeq", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    Student toEntity(StudentRequestDto studentRequestDto);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "registration", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "changeSeq", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void updateEntity(StudentRequestDto studentRequestDto, @MappingTarget Student student);
+}
@@ -0,0 +1,78 @@
+package com.github.silviacristinaa.students.metrics;
+
+import java.util.Locale;
+
+/**
+ * Database work done for the current request: statements executed, time spent in JDBC and entities loaded.
+ * {@link RequestStatisticsFilter} binds it to the request thread, so work done outside a request, or on another
+ * thread such as a streamed export, is not recorded.
+ */
+public class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private final boolean sampled;
+    private int statements;
+    private long jdbcNanos;
+    private int entities;
+
+    private RequestStatistics(boolean sampled) {
+        this.sampled = sampled;
+    }
+
+    /**
+     * The statistics of the request running on this thread, or null outside a request.
+     */
+    public static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds new statistics to this thread until {@link #end()}.
+     */
+    public static RequestStatistics start(boolean sampled) {
+        RequestStatistics statistics = new RequestStatistics(sampled);
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public void statementExecuted(long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+    }
+
+    public void entityLoaded() {
+        entities++;
+    }
+
+    /**
+     * Whether every statement of this request has its SQL logged.
+     */
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public double getJdbcMillis() {
+        return jdbcNanos / 1e6;
+    }
+
+    public int getEntities() {
+        return entities;
+    }
+
+    /**
+     * Server-Timing header value, e.g. {@code db;dur=1.234;desc="statements=2 entities=1"}.
+     */
+    String serverTiming() {
+        return String.format(Locale.ROOT, "db;dur=%.3f;desc=\"statements=%d entities=%d\"", getJdbcMillis(),
+                statements, entities);
+    }
+}
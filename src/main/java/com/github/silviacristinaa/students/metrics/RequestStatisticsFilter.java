@@ -0,0 +1,90 @@
+package com.github.silviacristinaa.students.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Collects the {@link RequestStatistics} of every request and logs them at debug level. When
+ * students.sql.server-timing is on they are also returned in a Server-Timing header, set just before the body is
+ * written, since the response is committed from then on. A students.sql.sample-rate share of the requests is picked
+ * to have the SQL of all its statements logged.
+ */
+@Slf4j
+@Component
+public class RequestStatisticsFilter extends OncePerRequestFilter {
+
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    private final boolean serverTiming;
+    private final double sampleRate;
+
+    public RequestStatisticsFilter(@Value("${students.sql.server-timing}") boolean serverTiming,
+                                   @Value("${students.sql.sample-rate}") double sampleRate) {
+        this.serverTiming = serverTiming;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestStatistics statistics = RequestStatistics.start(
+                sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+        try {
+            chain.doFilter(request, serverTiming ? new ServerTimingResponse(response, statistics) : response);
+        } finally {
+            RequestStatistics.end();
+            if (serverTiming && !response.isCommitted()) {
+                response.setHeader(SERVER_TIMING, statistics.serverTiming());
+            }
+            log.debug("{} {} {}: {} statements, {} ms in JDBC, {} entities loaded", request.getMethod(),
+                    request.getRequestURI(), response.getStatus(), statistics.getStatements(),
+                    statistics.getJdbcMillis(), statistics.getEntities());
+        }
+    }
+
+    private static class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestStatistics statistics;
+
+        private ServerTimingResponse(HttpServletResponse response, RequestStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            setServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            setServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            setServerTiming();
+            super.flushBuffer();
+        }
+
+        private void setServerTiming() {
+            if (!isCommitted()) {
+                setHeader(SERVER_TIMING, statistics.serverTiming());
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.silviacristinaa.students.metrics;
+
+import com.github.silviacristinaa.students.enums.OutcomeEnum;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every call made through a service interface, tagged with the service, the method and the outcome.
+ * Runs outside the transaction advice so the commit is part of the measured time.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    private static final String METRIC = "students.service";
+    private static final String SERVICE = "service";
+    private static final String METHOD = "method";
+    private static final String OUTCOME = "outcome";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Map<OutcomeEnum, Timer>> timers = new ConcurrentHashMap<>();
+
+    @Around("execution(* com.github.silviacristinaa.students.services.*Service.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Throwable failure = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable throwable) {
+            failure = throwable;
+            throw throwable;
+        } finally {
+            sample.stop(timer(joinPoint, OutcomeEnum.of(failure)));
+        }
+    }
+
+    /**
+     * Registered on the first call with each outcome and looked up by identity afterwards, so timing a call
+     * allocates no tags.
+     */
+    private Timer timer(ProceedingJoinPoint joinPoint, OutcomeEnum outcome) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return timers.computeIfAbsent(method, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(outcome, key -> Timer.builder(METRIC)
+                        .tag(SERVICE, joinPoint.getSignature().getDeclaringType().getSimpleName())
+                        .tag(METHOD, joinPoint.getSignature().getName())
+                        .tag(OUTCOME, outcome.tag())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+    }
+}
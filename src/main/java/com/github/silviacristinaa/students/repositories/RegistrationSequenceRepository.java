@@ -0,0 +1,28 @@
+package com.github.silviacristinaa.students.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reserves blocks of registration numbers from registration_seq. Each call to the sequence hands out the first
+ * number of a block of {@link #BLOCK_SIZE} numbers, so instances sharing the database never get the same one.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RegistrationSequenceRepository {
+
+    /**
+     * Must match the registration_seq increment.
+     */
+    public static final int BLOCK_SIZE = 1000;
+
+    private static final String SEQUENCE = "registration_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceDialect sequenceDialect;
+
+    public long nextBlock() {
+        return jdbcTemplate.queryForObject("select " + sequenceDialect.nextValue(SEQUENCE), Long.class);
+    }
+}
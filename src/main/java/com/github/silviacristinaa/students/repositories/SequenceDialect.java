@@ -0,0 +1,38 @@
+package com.github.silviacristinaa.students.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spells the next value of a sequence for the database in use: {@code nextval('name')} on PostgreSQL and the
+ * standard {@code next value for name} elsewhere (H2 in tests and benchmarks).
+ */
+@Component
+@RequiredArgsConstructor
+public class SequenceDialect {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgresql;
+
+    public String nextValue(String sequence) {
+        return isPostgresql() ? "nextval('" + sequence + "')" : "next value for " + sequence;
+    }
+
+    /**
+     * Asked of the database once; threads that race on the first call just ask it again.
+     */
+    private boolean isPostgresql() {
+        Boolean postgresql = this.postgresql;
+        if (postgresql == null) {
+            postgresql = POSTGRESQL.equals(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName()));
+            this.postgresql = postgresql;
+        }
+        return postgresql;
+    }
+}
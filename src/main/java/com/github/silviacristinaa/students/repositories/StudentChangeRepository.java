@@ -0,0 +1,56 @@
+package com.github.silviacristinaa.students.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Gives committed changes their position in the change feed. Writes leave change_seq null, and a sequencing run
+ * draws it for every change committed so far, under a row lock that only one run at a time can hold. A run
+ * therefore sees only committed changes and draws values above every run committed before it, so a change can
+ * never show up in the feed behind a position a client has already read.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StudentChangeRepository {
+
+    private static final String PENDING = "select case when exists (select 1 from student where change_seq is null) "
+            + "or exists (select 1 from student_tombstone where change_seq is null) then 1 else 0 end";
+    private static final String LAST = "select coalesce(max(change_seq), 0) from (select max(change_seq) change_seq "
+            + "from student union all select max(change_seq) from student_tombstone) last_change";
+    private static final String LOCK = "select id from student_change_lock where id = 1 for update";
+    private static final String SEQUENCE = "student_change_seq";
+    private static final String SEQUENCE_STUDENTS = "update student set change_seq = %s where change_seq is null";
+    private static final String SEQUENCE_TOMBSTONES =
+            "update student_tombstone set change_seq = %s where change_seq is null";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceDialect sequenceDialect;
+
+    /**
+     * Lets a run skip the lock when there is nothing to sequence.
+     */
+    public boolean hasPending() {
+        return jdbcTemplate.queryForObject(PENDING, Integer.class) == 1;
+    }
+
+    /**
+     * The highest position in the feed, read in one statement so it covers both tables as of the same moment. Every
+     * change at or below it has committed, so reading up to it cannot skip one that commits later.
+     */
+    public long findLastSequence() {
+        return jdbcTemplate.queryForObject(LAST, Long.class);
+    }
+
+    /**
+     * Must run inside a transaction, which holds the lock until it commits.
+     *
+     * @return the number of changes sequenced
+     */
+    public int sequencePending() {
+        jdbcTemplate.queryForList(LOCK, Integer.class);
+        String nextValue = sequenceDialect.nextValue(SEQUENCE);
+        return jdbcTemplate.update(String.format(SEQUENCE_STUDENTS, nextValue))
+                + jdbcTemplate.update(String.format(SEQUENCE_TOMBSTONES, nextValue));
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.silviacristinaa.students.repositories;
+
+import com.github.silviacristinaa.students.entities.Student;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes students with PostgreSQL COPY, which is considerably faster than batched INSERTs for large volumes.
+ * Ids are reserved from student_seq the same way Hibernate's pooled optimizer does, so both paths can share it.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StudentCopyRepository {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+    private static final String NEXT_ID_BLOCKS = "select nextval('student_seq') from generate_series(1, ?)";
+    private static final String COPY_STUDENTS = "COPY student (id, name, cpf, email, registration, course, active) "
+            + "FROM STDIN WITH (FORMAT csv)";
+
+    /**
+     * Must match the increment of student_seq and the allocationSize of {@link Student#getId()}.
+     */
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean supported;
+
+    /**
+     * Asked of the database once; threads that race on the first call just ask it again.
+     */
+    public boolean isSupported() {
+        Boolean supported = this.supported;
+        if (supported == null) {
+            supported = POSTGRESQL.equals(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName()));
+            this.supported = supported;
+        }
+        return supported;
+    }
+
+    /**
+     * Must run inside a transaction so that the reserved ids and the copied rows use the same connection.
+     */
+    public void copy(List<Student> students) {
+        if (students.isEmpty()) {
+            return;
+        }
+        assignIds(students);
+
+        StringBuilder csv = new StringBuilder(students.size() * 96);
+        for (Student student : students) {
+            csv.append(student.getId()).append(',');
+            appendQuoted(csv, student.getName()).append(',');
+            appendQuoted(csv, student.getCpf()).append(',');
+            appendQuoted(csv, student.getEmail()).append(',');
+            appendQuoted(csv, student.getRegistration()).append(',');
+            csv.append(student.getCourse().name()).append(',');
+            csv.append(student.isActive()).append('\n');
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(COPY_STUDENTS, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void assignIds(List<Student> students) {
+        int blocks = (students.size() + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE;
+        List<Long> ids = new ArrayList<>(blocks * ID_BLOCK_SIZE);
+        for (Long high : jdbcTemplate.queryForList(NEXT_ID_BLOCKS, Long.class, blocks)) {
+            for (long id = high - ID_BLOCK_SIZE + 1; id <= high; id++) {
+                ids.add(id);
+            }
+        }
+        for (int i = 0; i < students.size(); i++) {
+            students.get(i).setId(ids.get(i));
+        }
+    }
+
+    private static StringBuilder appendQuoted(StringBuilder csv, String value) {
+        return csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
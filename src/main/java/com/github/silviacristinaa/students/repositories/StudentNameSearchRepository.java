@@ -0,0 +1,62 @@
+package com.github.silviacristinaa.students.repositories;
+
+import com.github.silviacristinaa.students.dtos.responses.StudentNameMatchResponseDto;
+import com.github.silviacristinaa.students.enums.CourseEnum;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Ranks students by trigram similarity of their names with pg_trgm, served by idx_student_name_trgm.
+ * Only available on PostgreSQL with the extension installed.
+ * <p>
+ * The search orders by the {@code <->} distance, one minus the similarity, which the GiST index returns nearest
+ * first, so the scan stops after {@code size} matches instead of ranking every name that passes the threshold.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StudentNameSearchRepository {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+    private static final String HAS_PG_TRGM = "select count(*) from pg_extension where extname = 'pg_trgm'";
+    private static final String SET_THRESHOLD =
+            "select set_config('pg_trgm.similarity_threshold', ?, true)";
+    private static final String SEARCH = "select id, name, registration, course, active, "
+            + "similarity(lower(name), lower(?)) as similarity from student where lower(name) % lower(?) "
+            + "order by lower(name) <-> lower(?), id limit ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean supported;
+
+    /**
+     * Asked of the database once; threads that race on the first call just ask it again.
+     */
+    public boolean isSupported() {
+        Boolean supported = this.supported;
+        if (supported == null) {
+            supported = POSTGRESQL.equals(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName()))
+                    && jdbcTemplate.queryForObject(HAS_PG_TRGM, Long.class) > 0;
+            this.supported = supported;
+        }
+        return supported;
+    }
+
+    /**
+     * Must run inside a transaction so that the threshold applies to the search statement.
+     */
+    public List<StudentNameMatchResponseDto> search(String name, int size, double threshold) {
+        jdbcTemplate.queryForObject(SET_THRESHOLD, String.class, String.valueOf(threshold));
+        return jdbcTemplate.query(SEARCH, (resultSet, row) -> new StudentNameMatchResponseDto(
+                resultSet.getLong("id"),
+                resultSet.getString("name"),
+                resultSet.getString("registration"),
+                CourseEnum.valueOf(resultSet.getString("course")),
+                resultSet.getBoolean("active"),
+                resultSet.getDouble("similarity")), name, name, name, size);
+    }
+}
@@ -1,15 +1,163 @@
 package com.github.silviacristinaa.students.repositories;
 
+import com.github.silviacristinaa.students.dtos.responses.StudentChangeResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentResponseDto;
 import com.github.silviacristinaa.students.entities.Student;
+import com.github.silviacristinaa.students.enums.CourseEnum;
+import com.github.silviacristinaa.students.repositories.projections.StudentKeysProjection;
+import com.github.silviacristinaa.students.repositories.projections.StudentNameProjection;
+import com.github.silviacristinaa.students.repositories.projections.StudentStatusProjection;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
 
+    /**
+     * Selects straight into the response shape, so read endpoints skip entity hydration and dirty-checking snapshots.
+     */
+    String RESPONSE_DTO = "new com.github.silviacristinaa.students.dtos.responses.StudentResponseDto("
+            + "s.id, s.name, s.cpf, s.email, s.registration, s.course, s.active, s.version)";
+
+    /**
+     * Takes a student out of the change feed until StudentChangeRepository puts it back at the head once the write
+     * has committed. Every update statement below must set it.
+     */
+    String CHANGED = "s.changeSeq = null, s.updatedAt = offset datetime";
+
+    @Query(value = "select " + RESPONSE_DTO + " from Student s", countQuery = "select count(s) from Student s")
+    Page<StudentResponseDto> findAllResponses(Pageable pageable);
+
+    @Query("select " + RESPONSE_DTO + " from Student s where s.id = :id")
+    Optional<StudentResponseDto> findResponseById(@Param("id") Long id);
+
+    @Query("select " + RESPONSE_DTO + " from Student s where s.id in :ids")
+    List<StudentResponseDto> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
     Optional<Student> findByCpf(String cpf);
 
     Optional<Student> findByEmail(String email);
+
+    boolean existsByCpf(String cpf);
+
+    boolean existsByEmail(String email);
+
+    @Query("select s.cpf from Student s where s.cpf in :cpfs")
+    List<String> findExistingCpfs(@Param("cpfs") Collection<String> cpfs);
+
+    @Query("select s.email from Student s where s.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select " + RESPONSE_DTO + " from Student s order by s.id")
+    List<StudentResponseDto> findResponsesOrderedById(Limit limit);
+
+    @Query("select " + RESPONSE_DTO + " from Student s where s.id > :id order by s.id")
+    List<StudentResponseDto> findResponsesAfterId(@Param("id") Long id, Limit limit);
+
+    @Query("select " + RESPONSE_DTO + " from Student s order by s.name, s.id")
+    List<StudentResponseDto> findResponsesOrderedByName(Limit limit);
+
+    /**
+     * The leading {@code s.name >= :name} bounds a range scan of idx_student_name_id; a bare OR of the two seek
+     * conditions would leave the planner filtering the whole index.
+     */
+    @Query("select " + RESPONSE_DTO + " from Student s "
+            + "where s.name >= :name and (s.name > :name or s.id > :id) order by s.name, s.id")
+    List<StudentResponseDto> findResponsesAfterNameAndId(@Param("name") String name, @Param("id") Long id,
+                                                         Limit limit);
+
+    /**
+     * The two reads below lock the rows they return, in id order, so the status update that follows in the same
+     * transaction changes exactly those rows.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s.id as id, s.active as active from Student s where s.id in :ids order by s.id")
+    List<StudentStatusProjection> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s.id from Student s where s.id > :after and s.active <> :active "
+            + "and (:course is null or s.course = :course) and (:current is null or s.active = :current) order by s.id")
+    List<Long> findIdsToChangeStatus(@Param("after") Long after, @Param("course") CourseEnum course,
+                                     @Param("current") Boolean current, @Param("active") boolean active, Limit limit);
+
+    /**
+     * Set-based status change that skips rows already in the target status. The version is bumped by hand, since
+     * bulk updates bypass Hibernate's optimistic locking, so ETags issued before the change stop matching.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Student s set s.active = :active, s.version = s.version + 1, " + CHANGED
+            + " where s.id in :ids and s.active <> :active")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("active") boolean active);
+
+    /**
+     * The writes below are single statements that report 0 rows when the student is missing or, given a version,
+     * when it has moved on. They bump the version by hand, since JPQL updates bypass Hibernate's optimistic locking.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Student s set s.active = :active, s.version = s.version + 1, " + CHANGED
+            + " where s.id = :id and (:version is null or s.version = :version)")
+    int updateStatusById(@Param("id") Long id, @Param("active") boolean active, @Param("version") Long version);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Student s set s.name = :name, s.cpf = :cpf, s.email = :email, s.course = :course, "
+            + "s.active = :active, s.version = s.version + 1, " + CHANGED
+            + " where s.id = :id and (:version is null or s.version = :version)")
+    int updateById(@Param("id") Long id, @Param("name") String name, @Param("cpf") String cpf,
+                   @Param("email") String email, @Param("course") CourseEnum course, @Param("active") boolean active,
+                   @Param("version") Long version);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Student s where s.id = :id")
+    int deleteStudentById(@Param("id") Long id);
+
+    @Query("select new com.github.silviacristinaa.students.dtos.responses.StudentChangeResponseDto("
+            + "s.changeSeq, s.updatedAt, s.id, s.name, s.cpf, s.email, s.registration, s.course, s.active, s.version) "
+            + "from Student s where s.changeSeq > :since and s.changeSeq <= :upTo order by s.changeSeq")
+    List<StudentChangeResponseDto> findChangesBetween(@Param("since") long since, @Param("upTo") long upTo,
+                                                      Limit limit);
+
+    @Query("select s.version from Student s where s.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @QueryHints(value = {
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("select s from Student s where (:course is null or s.course = :course) "
+            + "and (:active is null or s.active = :active) order by s.id")
+    Stream<Student> streamAll(@Param("course") CourseEnum course, @Param("active") Boolean active);
+
+    @QueryHints(value = {
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select s.cpf as cpf, s.email as email from Student s")
+    Stream<StudentKeysProjection> streamAllKeys();
+
+    @QueryHints(value = {
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select s.id as id, s.name as name from Student s")
+    Stream<StudentNameProjection> streamAllNames();
 }
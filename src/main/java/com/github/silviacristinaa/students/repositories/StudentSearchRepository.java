@@ -0,0 +1,91 @@
+package com.github.silviacristinaa.students.repositories;
+
+import com.github.silviacristinaa.students.dtos.requests.StudentSearchRequestDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentResponseDto;
+import com.github.silviacristinaa.students.entities.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filtered search that selects straight into {@link StudentResponseDto}. Only the filters that were sent become
+ * predicates, so the database can pick the matching index instead of planning around "param is null" branches:
+ * course/active use idx_student_course_active_name, the name prefix idx_student_name_id (or the pattern index on
+ * PostgreSQL) and the registration its unique index.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StudentSearchRepository {
+
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private static final String CPF = "cpf";
+    private static final String EMAIL = "email";
+    private static final String REGISTRATION = "registration";
+    private static final String COURSE = "course";
+    private static final String ACTIVE = "active";
+    private static final String VERSION = "version";
+    private static final char ESCAPE = '\\';
+
+    private final EntityManager entityManager;
+
+    public Page<StudentResponseDto> search(StudentSearchRequestDto filter, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<StudentResponseDto> query = builder.createQuery(StudentResponseDto.class);
+        Root<Student> student = query.from(Student.class);
+        query.select(builder.construct(StudentResponseDto.class, student.get(ID), student.get(NAME),
+                        student.get(CPF), student.get(EMAIL), student.get(REGISTRATION), student.get(COURSE),
+                        student.get(ACTIVE), student.get(VERSION)))
+                .where(predicates(builder, student, filter))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), student, builder));
+
+        TypedQuery<StudentResponseDto> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> count(builder, filter));
+    }
+
+    private long count(CriteriaBuilder builder, StudentSearchRequestDto filter) {
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Student> student = query.from(Student.class);
+        query.select(builder.count(student)).where(predicates(builder, student, filter));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private Predicate[] predicates(CriteriaBuilder builder, Root<Student> student, StudentSearchRequestDto filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getCourse() != null) {
+            predicates.add(builder.equal(student.get(COURSE), filter.getCourse()));
+        }
+        if (filter.getActive() != null) {
+            predicates.add(builder.equal(student.get(ACTIVE), filter.getActive()));
+        }
+        if (filter.getName() != null && !filter.getName().isBlank()) {
+            predicates.add(builder.like(student.get(NAME), escape(filter.getName()) + "%", ESCAPE));
+        }
+        if (filter.getRegistration() != null && !filter.getRegistration().isBlank()) {
+            predicates.add(builder.equal(student.get(REGISTRATION), filter.getRegistration()));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.silviacristinaa.students.repositories;
+
+import com.github.silviacristinaa.students.dtos.responses.StudentChangeResponseDto;
+import com.github.silviacristinaa.students.entities.StudentTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StudentTombstoneRepository extends JpaRepository<StudentTombstone, Long> {
+
+    @Modifying
+    @Query(value = "insert into student_tombstone (change_seq, student_id, deleted_at) "
+            + "values (null, :studentId, current_timestamp)", nativeQuery = true)
+    int insertTombstone(@Param("studentId") Long studentId);
+
+    @Query("select new com.github.silviacristinaa.students.dtos.responses.StudentChangeResponseDto("
+            + "t.changeSeq, t.deletedAt, t.studentId) from StudentTombstone t "
+            + "where t.changeSeq > :since and t.changeSeq <= :upTo order by t.changeSeq")
+    List<StudentChangeResponseDto> findChangesBetween(@Param("since") long since, @Param("upTo") long upTo,
+                                                      Limit limit);
+}
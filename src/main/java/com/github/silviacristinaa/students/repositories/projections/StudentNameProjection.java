@@ -0,0 +1,8 @@
+package com.github.silviacristinaa.students.repositories.projections;
+
+public interface StudentNameProjection {
+
+    Long getId();
+
+    String getName();
+}
@@ -0,0 +1,8 @@
+package com.github.silviacristinaa.students.repositories.projections;
+
+public interface StudentStatusProjection {
+
+    Long getId();
+
+    boolean isActive();
+}
@@ -1,10 +1,27 @@
 package com.github.silviacristinaa.students.resources;
 
+import com.github.silviacristinaa.students.dtos.requests.StudentBatchRequestDto;
+import com.github.silviacristinaa.students.dtos.requests.StudentBulkStatusRequestDto;
 import com.github.silviacristinaa.students.dtos.requests.StudentRequestDto;
+import com.github.silviacristinaa.students.dtos.requests.StudentSearchRequestDto;
 import com.github.silviacristinaa.students.dtos.requests.StudentStatusRequestDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentAvailabilityResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentBatchResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentBulkStatusResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentChangesResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentCursorResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentImportResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentNameMatchResponseDto;
 import com.github.silviacristinaa.students.dtos.responses.StudentResponseDto;
-import com.github.silviacristinaa.students.exceptions.ConflictException;
+import com.github.silviacristinaa.students.enums.CourseEnum;
+import com.github.silviacristinaa.students.enums.CursorSortEnum;
+import com.github.silviacristinaa.students.exceptions.BadRequestException;
 import com.github.silviacristinaa.students.exceptions.NotFoundException;
+import com.github.silviacristinaa.students.exceptions.PreconditionFailedException;
+import com.github.silviacristinaa.students.services.StudentAvailabilityService;
+import com.github.silviacristinaa.students.services.StudentChangeService;
+import com.github.silviacristinaa.students.services.StudentImportService;
+import com.github.silviacristinaa.students.services.StudentNameSearchService;
 import com.github.silviacristinaa.students.services.StudentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,12 +32,21 @@ import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 @RestController
 @RequestMapping(value = "/students")
@@ -29,23 +55,142 @@ import java.net.URI;
 public class StudentResource {
 
     private static final String ID = "/{id}";
+    private static final String BATCH = "/batch";
+    private static final String EXPORT = "/export";
+    private static final String IMPORT = "/import";
+    private static final String AVAILABILITY = "/availability";
+    private static final String SEARCH = "/search";
+    private static final String SEARCH_NAME = "/search/name";
+    private static final String STATUS = "/status";
+    private static final String CHANGES = "/changes";
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String QUOTE = "\"";
+
+    /**
+     * Version no student can have, standing for an If-Match that is weak or not one of our ETags.
+     */
+    private static final long UNMATCHED_VERSION = -1L;
 
     private final StudentService studentService;
+    private final StudentImportService studentImportService;
+    private final StudentAvailabilityService studentAvailabilityService;
+    private final StudentNameSearchService studentNameSearchService;
+    private final StudentChangeService studentChangeService;
 
-    @Operation(summary = "Get all")
+    @Operation(summary = "Get all", description = "Returns an ETag; send it in If-None-Match to get a 304 while "
+            + "the page is unchanged")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Paginated students returned successfully"),
+            @ApiResponse(responseCode = "304", description = "Page not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping
     @ResponseStatus(value = HttpStatus.OK)
     public ResponseEntity<Page<StudentResponseDto>> findAll(@ParameterObject Pageable pageable) {
-        return ResponseEntity.ok(studentService.findAll(pageable));
+        Page<StudentResponseDto> page = studentService.findAll(pageable);
+        return ResponseEntity.ok().eTag(eTag(page)).body(page);
+    }
+
+    @Operation(summary = "Get all by cursor",
+            description = "Keyset pagination without a count query. Send an empty 'after' for the first page and "
+                    + "the returned 'next' token for the following ones, keeping the same 'orderBy'.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Students page returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Bad request - Arguments not valid"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(params = "after")
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<StudentCursorResponseDto> findAll(@RequestParam String after,
+                                                            @RequestParam(defaultValue = "20") int size,
+                                                            @RequestParam(defaultValue = "ID") CursorSortEnum orderBy)
+            throws BadRequestException {
+        return ResponseEntity.ok(studentService.findAll(after, size, orderBy));
+    }
+
+    @Operation(summary = "Search",
+            description = "Filters students by course, status, name prefix and registration, "
+                    + "ordered by name by default")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Paginated students returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Bad request - Arguments not valid"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = SEARCH)
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<Page<StudentResponseDto>> search(
+            @ParameterObject StudentSearchRequestDto filter,
+            @ParameterObject @PageableDefault(sort = {"name", "id"}) Pageable pageable) {
+        return ResponseEntity.ok(studentService.search(filter, pageable));
+    }
+
+    @Operation(summary = "Search by name",
+            description = "Typo-tolerant name search, most similar names first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching students returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Bad request - Arguments not valid"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = SEARCH_NAME)
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<List<StudentNameMatchResponseDto>> searchByName(
+            @RequestParam(required = false) String name, @RequestParam(defaultValue = "10") int size)
+            throws BadRequestException {
+        return ResponseEntity.ok(studentNameSearchService.search(name, size));
+    }
+
+    @Operation(summary = "Get changes",
+            description = "Students created, updated or deleted since the 'since' token, oldest change first. Send "
+                    + "an empty 'since' to start from the beginning and the returned 'next' token afterwards.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Bad request - Arguments not valid"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = CHANGES)
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<StudentChangesResponseDto> findChanges(@RequestParam(required = false) String since,
+                                                                 @RequestParam(defaultValue = "100") int limit)
+            throws BadRequestException {
+        return ResponseEntity.ok(studentChangeService.findChanges(since, limit));
+    }
+
+    @Operation(summary = "Export",
+            description = "Streams every student, optionally filtered by course and status, as newline-delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Students streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Bad request - Arguments not valid"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = EXPORT, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(required = false) CourseEnum course,
+                                                        @RequestParam(required = false) Boolean active) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> studentService.export(course, active, outputStream));
     }
 
-    @Operation(summary = "Get by id")
+    @Operation(summary = "Check availability", description = "Tells whether a CPF and/or an email are still free")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Availability returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Bad request - Arguments not valid"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = AVAILABILITY)
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<StudentAvailabilityResponseDto> checkAvailability(
+            @RequestParam(required = false) String cpf, @RequestParam(required = false) String email)
+            throws BadRequestException {
+        return ResponseEntity.ok(studentAvailabilityService.check(cpf, email));
+    }
+
+    @Operation(summary = "Get by id", description = "The ETag is the student version; send it in If-None-Match to "
+            + "get a 304 while the student is unchanged, or in If-Match when updating it")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Student returned successfully"),
+            @ApiResponse(responseCode = "304", description = "Student not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "400", description = "Bad request - Arguments not valid"),
             @ApiResponse(responseCode = "404", description = "Student not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
@@ -53,7 +198,9 @@ public class StudentResource {
     @GetMapping(value = ID)
     @ResponseStatus(value = HttpStatus.OK)
     public ResponseEntity<StudentResponseDto> findById(@PathVariable Long id) throws NotFoundException {
-        return ResponseEntity.ok(studentService.findOneStudentById(id));
+        StudentResponseDto student = studentService.findOneStudentById(id);
+        // A matching If-None-Match is answered with 304 before the body is serialized
+        return ResponseEntity.ok().eTag(eTag(student.getVersion())).body(student);
     }
 
     @Operation(summary = "Create")
@@ -65,42 +212,91 @@ public class StudentResource {
     })
     @PostMapping
     @ResponseStatus(value = HttpStatus.CREATED)
-    public ResponseEntity<Void> create(@RequestBody @Valid StudentRequestDto studentRequestDto)
-            throws ConflictException {
+    public ResponseEntity<Void> create(@RequestBody @Valid StudentRequestDto studentRequestDto) {
         URI uri = ServletUriComponentsBuilder
                 .fromCurrentRequest().path(ID).buildAndExpand(studentService.create(studentRequestDto).getId()).toUri();
         return ResponseEntity.created(uri).build();
     }
 
+    @Operation(summary = "Create in batch")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see the status of each item"),
+            @ApiResponse(responseCode = "400", description = "Bad request - Arguments not valid"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(value = BATCH)
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<StudentBatchResponseDto> createAll(
+            @RequestBody @Valid StudentBatchRequestDto studentBatchRequestDto) {
+        return ResponseEntity.ok(studentService.createAll(studentBatchRequestDto.getStudents()));
+    }
+
+    @Operation(summary = "Import CSV",
+            description = "Imports a CSV file with the header name,cpf,email,course,active and reports the rows "
+                    + "that were rejected")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "File processed, see the rejected rows"),
+            @ApiResponse(responseCode = "400", description = "Bad request - Arguments not valid"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(value = IMPORT, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<StudentImportResponseDto> importCsv(@RequestParam MultipartFile file)
+            throws IOException, BadRequestException {
+        return ResponseEntity.ok(studentImportService.importCsv(file.getInputStream()));
+    }
+
     @Operation(summary = "Patch status")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Student status updated successfully"),
             @ApiResponse(responseCode = "400", description = "Bad request - Arguments not valid"),
             @ApiResponse(responseCode = "404", description = "Student not found"),
+            @ApiResponse(responseCode = "409", description = "Conflict - Student changed by a concurrent request"),
+            @ApiResponse(responseCode = "412", description = "Precondition failed - If-Match is not the current ETag"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PatchMapping(value = ID)
     @ResponseStatus(value = HttpStatus.NO_CONTENT)
     public ResponseEntity<Void> updateStudentStatus(@PathVariable Long id,
-                                                    @RequestBody StudentStatusRequestDto studentStatusRequestDto)
-            throws NotFoundException {
-        studentService.updateStudentStatus(id, studentStatusRequestDto);
+                                                    @RequestBody StudentStatusRequestDto studentStatusRequestDto,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                    String ifMatch)
+            throws NotFoundException, PreconditionFailedException {
+        studentService.updateStudentStatus(id, studentStatusRequestDto, version(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(summary = "Patch status in bulk",
+            description = "Sets the status of the students with the given ids, or of every student matching the "
+                    + "course and/or current status, and reports the ids changed and the ids not found")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statuses updated, see the affected and missing ids"),
+            @ApiResponse(responseCode = "400", description = "Bad request - Arguments not valid"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PatchMapping(value = STATUS)
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<StudentBulkStatusResponseDto> updateStudentsStatus(
+            @RequestBody @Valid StudentBulkStatusRequestDto studentBulkStatusRequestDto) throws BadRequestException {
+        return ResponseEntity.ok(studentService.updateStudentsStatus(studentBulkStatusRequestDto));
+    }
+
     @Operation(summary = "Update")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Student updated successfully"),
             @ApiResponse(responseCode = "400", description = "Bad request - Arguments not valid"),
             @ApiResponse(responseCode = "404", description = "Student not found"),
-            @ApiResponse(responseCode = "409", description = "Conflict - CPF or email already registered"),
+            @ApiResponse(responseCode = "409", description = "Conflict - CPF or email already registered, or student "
+                    + "changed by a concurrent request"),
+            @ApiResponse(responseCode = "412", description = "Precondition failed - If-Match is not the current ETag"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PutMapping(value = ID)
     @ResponseStatus(value = HttpStatus.NO_CONTENT)
-    public ResponseEntity<Void> update(@PathVariable Long id, @RequestBody @Valid StudentRequestDto studentRequestDto)
-            throws NotFoundException, ConflictException {
-        studentService.update(id, studentRequestDto);
+    public ResponseEntity<Void> update(@PathVariable Long id, @RequestBody @Valid StudentRequestDto studentRequestDto,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws NotFoundException, PreconditionFailedException {
+        studentService.update(id, studentRequestDto, version(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -117,4 +313,35 @@ public class StudentResource {
         studentService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static String eTag(Long version) {
+        return QUOTE + version + QUOTE;
+    }
+
+    /**
+     * Strong ETag of a page: the same content (ids and versions) in the same order, out of the same total.
+     */
+    private static String eTag(Page<StudentResponseDto> page) {
+        StringBuilder content = new StringBuilder().append(page.getTotalElements());
+        page.forEach(student -> content.append(',').append(student.getId()).append(':').append(student.getVersion()));
+        return QUOTE + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + QUOTE;
+    }
+
+    /**
+     * If-Match compares strongly, so a weak or foreign ETag never matches; {@code *} matches any current version.
+     */
+    private static Long version(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        if (eTag.startsWith(WEAK_PREFIX) || !eTag.startsWith(QUOTE) || !eTag.endsWith(QUOTE) || eTag.length() < 3) {
+            return UNMATCHED_VERSION;
+        }
+        try {
+            return Long.valueOf(eTag.substring(1, eTag.length() - 1));
+        } catch (NumberFormatException e) {
+            return UNMATCHED_VERSION;
+        }
+    }
 }
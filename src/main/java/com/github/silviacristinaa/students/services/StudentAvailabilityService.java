@@ -0,0 +1,13 @@
+package com.github.silviacristinaa.students.services;
+
+import com.github.silviacristinaa.students.dtos.responses.StudentAvailabilityResponseDto;
+import com.github.silviacristinaa.students.exceptions.BadRequestException;
+
+public interface StudentAvailabilityService {
+
+    StudentAvailabilityResponseDto check(String cpf, String email) throws BadRequestException;
+
+    void register(String cpf, String email);
+
+    void rebuild();
+}
@@ -0,0 +1,23 @@
+package com.github.silviacristinaa.students.services;
+
+import com.github.silviacristinaa.students.dtos.responses.StudentChangeResponseDto;
+
+import java.util.List;
+
+/**
+ * Kept up to date with the changes made by every instance: {@link StudentChangeService} reads the change feed once
+ * per poll and hands what it read to every listener.
+ */
+public interface StudentChangeListener {
+
+    /**
+     * Called with each batch in sequence order. A batch may hold changes the listener has already applied, on commit
+     * or through a rebuild scan, so applying them must be idempotent.
+     */
+    void onChanges(List<StudentChangeResponseDto> changes);
+
+    /**
+     * Called after every poll, with whether it could bring the feed up to date.
+     */
+    void onSynced(boolean synced);
+}
@@ -0,0 +1,22 @@
+package com.github.silviacristinaa.students.services;
+
+import com.github.silviacristinaa.students.dtos.responses.StudentChangesResponseDto;
+import com.github.silviacristinaa.students.exceptions.BadRequestException;
+
+public interface StudentChangeService {
+
+    /**
+     * @param since token returned as 'next' by the previous call; null or empty to start from the first change
+     */
+    StudentChangesResponseDto findChanges(String since, int limit) throws BadRequestException;
+
+    /**
+     * Puts the changes committed since the last call into the feed.
+     */
+    void sequence();
+
+    /**
+     * Sequences, then hands the changes put into the feed since the last poll to every {@link StudentChangeListener}.
+     */
+    void poll();
+}
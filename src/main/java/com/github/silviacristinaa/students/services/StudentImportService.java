@@ -0,0 +1,12 @@
+package com.github.silviacristinaa.students.services;
+
+import com.github.silviacristinaa.students.dtos.responses.StudentImportResponseDto;
+import com.github.silviacristinaa.students.exceptions.BadRequestException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface StudentImportService {
+
+    StudentImportResponseDto importCsv(InputStream inputStream) throws IOException, BadRequestException;
+}
@@ -0,0 +1,17 @@
+package com.github.silviacristinaa.students.services;
+
+import com.github.silviacristinaa.students.dtos.responses.StudentNameMatchResponseDto;
+import com.github.silviacristinaa.students.exceptions.BadRequestException;
+
+import java.util.List;
+
+public interface StudentNameSearchService {
+
+    List<StudentNameMatchResponseDto> search(String name, int size) throws BadRequestException;
+
+    void register(Long id, String name);
+
+    void remove(Long id);
+
+    void rebuild();
+}
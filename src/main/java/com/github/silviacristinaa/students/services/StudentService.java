@@ -1,25 +1,59 @@
 package com.github.silviacristinaa.students.services;
 
+import com.github.silviacristinaa.students.dtos.requests.StudentBulkStatusRequestDto;
 import com.github.silviacristinaa.students.dtos.requests.StudentRequestDto;
+import com.github.silviacristinaa.students.dtos.requests.StudentSearchRequestDto;
 import com.github.silviacristinaa.students.dtos.requests.StudentStatusRequestDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentBatchResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentBulkStatusResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentCursorResponseDto;
 import com.github.silviacristinaa.students.dtos.responses.StudentResponseDto;
 import com.github.silviacristinaa.students.entities.Student;
-import com.github.silviacristinaa.students.exceptions.ConflictException;
+import com.github.silviacristinaa.students.enums.CourseEnum;
+import com.github.silviacristinaa.students.enums.CursorSortEnum;
+import com.github.silviacristinaa.students.exceptions.BadRequestException;
 import com.github.silviacristinaa.students.exceptions.NotFoundException;
+import com.github.silviacristinaa.students.exceptions.PreconditionFailedException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
 public interface StudentService {
 
     Page<StudentResponseDto> findAll(Pageable pageable);
 
+    StudentCursorResponseDto findAll(String after, int size, CursorSortEnum sort) throws BadRequestException;
+
+    Page<StudentResponseDto> search(StudentSearchRequestDto filter, Pageable pageable);
+
     StudentResponseDto findOneStudentById(Long id) throws NotFoundException;
 
-    Student create(StudentRequestDto studentRequestDto) throws ConflictException;
+    void export(CourseEnum course, Boolean active, OutputStream outputStream) throws IOException;
+
+    Student create(StudentRequestDto studentRequestDto);
+
+    StudentBatchResponseDto createAll(List<StudentRequestDto> studentRequestDtos);
+
+    /**
+     * @param version version the client last read, from If-Match; null to update whatever is current
+     */
+    void updateStudentStatus(Long id, StudentStatusRequestDto studentStatusRequestDto, Long version)
+            throws NotFoundException, PreconditionFailedException;
 
-    void updateStudentStatus(Long id, StudentStatusRequestDto studentStatusRequestDto) throws NotFoundException;
+    /**
+     * Changes the status of the selected students with chunked set-based updates, without loading them.
+     */
+    StudentBulkStatusResponseDto updateStudentsStatus(StudentBulkStatusRequestDto studentBulkStatusRequestDto)
+            throws BadRequestException;
 
-    void update(Long id, StudentRequestDto studentRequestDto) throws NotFoundException, ConflictException;
+    /**
+     * @param version version the client last read, from If-Match; null to update whatever is current
+     */
+    void update(Long id, StudentRequestDto studentRequestDto, Long version)
+            throws NotFoundException, PreconditionFailedException;
 
     void delete(Long id) throws NotFoundException;
 }
@@ -0,0 +1,89 @@
+package com.github.silviacristinaa.students.services.impl;
+
+import com.github.silviacristinaa.students.repositories.RegistrationSequenceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out registrations from blocks reserved on registration_seq. Within a block numbers are taken with a
+ * single atomic increment; only the thread that finds the block exhausted goes to the database for the next one.
+ * <p>
+ * A registration is the number written in base 36 on 8 uppercase characters, the first of them a letter from
+ * G to Z. Registrations generated before the sequence are 8 hexadecimal characters, so the two can never collide.
+ */
+@Component
+@RequiredArgsConstructor
+public class RegistrationGenerator {
+
+    static final int LENGTH = 8;
+    static final long CAPACITY = 20 * pow(36, LENGTH - 1);
+
+    private static final char FIRST_LETTER = 'G';
+    private static final char[] DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+    private static final String EXHAUSTED = "Registration numbers are exhausted";
+
+    private final RegistrationSequenceRepository registrationSequenceRepository;
+    private final AtomicReference<Block> block = new AtomicReference<>(Block.EMPTY);
+    private final ReentrantLock refill = new ReentrantLock();
+
+    public String next() {
+        while (true) {
+            Block current = block.get();
+            long number = current.next.getAndIncrement();
+            if (number < current.end) {
+                return format(number);
+            }
+            refill(current);
+        }
+    }
+
+    private void refill(Block exhausted) {
+        refill.lock();
+        try {
+            if (block.get() == exhausted) {
+                long start = registrationSequenceRepository.nextBlock();
+                block.set(new Block(start, start + RegistrationSequenceRepository.BLOCK_SIZE));
+            }
+        } finally {
+            refill.unlock();
+        }
+    }
+
+    static String format(long number) {
+        if (number < 0 || number >= CAPACITY) {
+            throw new IllegalStateException(EXHAUSTED);
+        }
+        char[] registration = new char[LENGTH];
+        for (int i = LENGTH - 1; i > 0; i--) {
+            registration[i] = DIGITS[(int) (number % DIGITS.length)];
+            number /= DIGITS.length;
+        }
+        registration[0] = (char) (FIRST_LETTER + number);
+        return new String(registration);
+    }
+
+    private static long pow(long base, int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+
+    private static final class Block {
+
+        private static final Block EMPTY = new Block(0, 0);
+
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
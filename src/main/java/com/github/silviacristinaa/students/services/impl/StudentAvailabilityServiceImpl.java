@@ -0,0 +1,241 @@
+package com.github.silviacristinaa.students.services.impl;
+
+import com.github.silviacristinaa.students.dtos.responses.StudentAvailabilityResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentChangeResponseDto;
+import com.github.silviacristinaa.students.enums.ChangeTypeEnum;
+import com.github.silviacristinaa.students.exceptions.BadRequestException;
+import com.github.silviacristinaa.students.repositories.StudentRepository;
+import com.github.silviacristinaa.students.repositories.projections.StudentKeysProjection;
+import com.github.silviacristinaa.students.services.StudentAvailabilityService;
+import com.github.silviacristinaa.students.services.StudentChangeListener;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * Answers CPF and email availability from in-memory Bloom filters built from the student table.
+ * A negative answer from a filter is definitive; a positive one is confirmed against the unique index.
+ * Values freed by updates and deletes stay in the filters (costing a database lookup) until the next rebuild.
+ * <p>
+ * Writes made by this instance reach the filters when they commit. Writes made by other instances reach them
+ * through the change feed, which {@link StudentChangeServiceImpl} reads every poll interval, so they show up within
+ * one or two poll intervals of their commit. While the feed cannot be read, every check goes to the database.
+ */
+@Slf4j
+@Service
+public class StudentAvailabilityServiceImpl implements StudentAvailabilityService, StudentChangeListener {
+
+    private static final String CPF_OR_EMAIL_REQUIRED = "Inform a CPF or an email";
+
+    private static final String CHECKS_METRIC = "students.availability.checks";
+    private static final String REBUILDS_METRIC = "students.availability.rebuilds";
+    private static final String EXPECTED_FPP_METRIC = "students.availability.expected.fpp";
+    private static final String ELEMENTS_METRIC = "students.availability.elements";
+    private static final String FIELD = "field";
+    private static final String RESULT = "result";
+    private static final String CPF = "cpf";
+    private static final String EMAIL = "email";
+    private static final String FREE = "free";
+    private static final String TAKEN = "taken";
+    private static final String FALSE_POSITIVE = "false_positive";
+    private static final String NOT_READY = "not_ready";
+
+    private final StudentRepository studentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+    private final Timer rebuildTimer;
+    private final double falsePositiveProbability;
+    private final long minimumCapacity;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final Map<String, Map<String, Counter>> checks = new ConcurrentHashMap<>();
+
+    private volatile Filters filters;
+    private volatile Filters building;
+
+    /**
+     * Whether the last poll of the change feed worked.
+     */
+    private volatile boolean synced;
+
+    public StudentAvailabilityServiceImpl(StudentRepository studentRepository,
+                                          PlatformTransactionManager transactionManager,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${students.availability.fpp}") double falsePositiveProbability,
+                                          @Value("${students.availability.minimum-capacity}") long minimumCapacity) {
+        this.studentRepository = studentRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.minimumCapacity = minimumCapacity;
+        this.rebuildTimer = meterRegistry.timer(REBUILDS_METRIC);
+
+        registerGauge(EXPECTED_FPP_METRIC, CPF, current -> current.cpfs.expectedFpp());
+        registerGauge(EXPECTED_FPP_METRIC, EMAIL, current -> current.emails.expectedFpp());
+        registerGauge(ELEMENTS_METRIC, CPF, current -> current.cpfs.approximateElementCount());
+        registerGauge(ELEMENTS_METRIC, EMAIL, current -> current.emails.approximateElementCount());
+    }
+
+    @Override
+    public StudentAvailabilityResponseDto check(String cpf, String email) throws BadRequestException {
+        boolean hasCpf = cpf != null && !cpf.isBlank();
+        boolean hasEmail = email != null && !email.isBlank();
+        if (!hasCpf && !hasEmail) {
+            throw new BadRequestException(CPF_OR_EMAIL_REQUIRED);
+        }
+
+        Filters current = synced ? filters : null;
+        return new StudentAvailabilityResponseDto(
+                hasCpf ? isAvailable(CPF, cpf, current == null ? null : current.cpfs,
+                        studentRepository::existsByCpf) : null,
+                hasEmail ? isAvailable(EMAIL, email, current == null ? null : current.emails,
+                        studentRepository::existsByEmail) : null);
+    }
+
+    /**
+     * Adds the values once the surrounding transaction commits. Reading {@code building} before {@code filters}
+     * guarantees the values reach the filter a concurrent rebuild is about to publish.
+     */
+    @Override
+    public void register(String cpf, String email) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(cpf, email);
+                }
+            });
+        } else {
+            put(cpf, email);
+        }
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${students.availability.rebuild-interval}",
+            initialDelayString = "${students.availability.rebuild-interval}")
+    public void rebuild() {
+        // A lock rather than synchronized so a rebuild on a virtual thread does not pin its carrier during I/O
+        rebuildLock.lock();
+        try {
+            rebuildTimer.record(this::rebuildFilters);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Adds the CPFs and emails of the students created or updated, wherever the change was made. Deletes add
+     * nothing: the values they free stay in the filters until the next rebuild.
+     */
+    @Override
+    public void onChanges(List<StudentChangeResponseDto> changes) {
+        for (StudentChangeResponseDto change : changes) {
+            if (change.getType() == ChangeTypeEnum.UPSERT) {
+                put(change.getStudent().getCpf(), change.getStudent().getEmail());
+            }
+        }
+    }
+
+    @Override
+    public void onSynced(boolean synced) {
+        if (this.synced && !synced) {
+            log.warn("Availability filters fell behind the change feed, checking the database instead");
+        }
+        this.synced = synced;
+    }
+
+    private void rebuildFilters() {
+        Filters next = new Filters(Math.max(studentRepository.count() * 2, minimumCapacity),
+                falsePositiveProbability);
+        building = next;
+        try {
+            // Changes polled during the scan reach the new filters through building
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<StudentKeysProjection> keys = studentRepository.streamAllKeys()) {
+                    keys.forEach(key -> next.put(key.getCpf(), key.getEmail()));
+                }
+            });
+            filters = next;
+            synced = true;
+        } finally {
+            building = null;
+        }
+        log.info("Availability filters rebuilt with {} CPFs", next.cpfs.approximateElementCount());
+    }
+
+    private boolean isAvailable(String field, String value, BloomFilter<String> filter, Predicate<String> exists) {
+        if (filter != null && !filter.mightContain(value)) {
+            count(field, FREE);
+            return true;
+        }
+        boolean taken = exists.test(value);
+        count(field, taken ? TAKEN : filter == null ? NOT_READY : FALSE_POSITIVE);
+        return !taken;
+    }
+
+    private void put(String cpf, String email) {
+        Filters next = building;
+        if (next != null) {
+            next.put(cpf, email);
+        }
+        Filters current = filters;
+        if (current != null) {
+            current.put(cpf, email);
+        }
+    }
+
+    private void count(String field, String result) {
+        checks.computeIfAbsent(field, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(result, key -> meterRegistry.counter(CHECKS_METRIC, FIELD, field, RESULT, result))
+                .increment();
+    }
+
+    private void registerGauge(String name, String field, ToDoubleFunction<Filters> value) {
+        ToDoubleFunction<StudentAvailabilityServiceImpl> current =
+                service -> service.filters == null ? Double.NaN : value.applyAsDouble(service.filters);
+        Gauge.builder(name, this, current)
+                .tag(FIELD, field)
+                .register(meterRegistry);
+    }
+
+    private static class Filters {
+
+        private final BloomFilter<String> cpfs;
+        private final BloomFilter<String> emails;
+
+        private Filters(long expectedInsertions, double falsePositiveProbability) {
+            this.cpfs = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expectedInsertions,
+                    falsePositiveProbability);
+            this.emails = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expectedInsertions,
+                    falsePositiveProbability);
+        }
+
+        private void put(String cpf, String email) {
+            cpfs.put(cpf);
+            emails.put(email);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.github.silviacristinaa.students.services.impl;
+
+import com.github.silviacristinaa.students.dtos.responses.StudentChangeResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentChangesResponseDto;
+import com.github.silviacristinaa.students.exceptions.BadRequestException;
+import com.github.silviacristinaa.students.repositories.StudentChangeRepository;
+import com.github.silviacristinaa.students.repositories.StudentRepository;
+import com.github.silviacristinaa.students.repositories.StudentTombstoneRepository;
+import com.github.silviacristinaa.students.services.StudentChangeListener;
+import com.github.silviacristinaa.students.services.StudentChangeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Change feed over student_change_seq. Creates, updates and deletes each get the next value of the sequence, so
+ * a client that keeps the position of the last change it saw reads only what changed since, in order.
+ * <p>
+ * The value is drawn by {@link #sequence()} after the write has committed, in commit order, rather than by the
+ * write itself: a value drawn by the write could become visible after higher ones that a client had already read
+ * past. A change thus reaches the feed within one poll interval of its commit.
+ * <p>
+ * {@link #poll()} is the only scheduled reader of the feed on an instance: it sequences and then reads on once,
+ * handing the changes to every {@link StudentChangeListener} rather than letting each poll the database itself.
+ */
+@Slf4j
+@Service
+public class StudentChangeServiceImpl implements StudentChangeService {
+
+    private static final String INVALID_LIMIT = "Limit must be between 1 and %s";
+    private static final String INVALID_TOKEN = "Invalid change token";
+    private static final int MAX_LIMIT = 1000;
+    private static final int POLL_BATCH_SIZE = 1000;
+
+    private final StudentRepository studentRepository;
+    private final StudentTombstoneRepository studentTombstoneRepository;
+    private final StudentChangeRepository studentChangeRepository;
+    private final List<StudentChangeListener> listeners;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReentrantLock pollLock = new ReentrantLock();
+
+    /**
+     * Feed position the listeners have been handed everything up to, guarded by the poll lock. Negative until
+     * {@link #start()} reads it.
+     */
+    private long position = -1;
+    private boolean synced = true;
+
+    public StudentChangeServiceImpl(StudentRepository studentRepository,
+                                    StudentTombstoneRepository studentTombstoneRepository,
+                                    StudentChangeRepository studentChangeRepository,
+                                    List<StudentChangeListener> listeners,
+                                    PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.studentTombstoneRepository = studentTombstoneRepository;
+        this.studentChangeRepository = studentChangeRepository;
+        this.listeners = listeners;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StudentChangesResponseDto findChanges(String since, int limit) throws BadRequestException {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException(String.format(INVALID_LIMIT, MAX_LIMIT));
+        }
+        long after = decode(since);
+        List<StudentChangeResponseDto> changes = read(after, studentChangeRepository.findLastSequence(), limit);
+
+        String next = changes.isEmpty() ? encode(after) : encode(changes.getLast().getSequence());
+        return new StudentChangesResponseDto(changes, changes.size(), next);
+    }
+
+    @Override
+    public void sequence() {
+        if (!studentChangeRepository.hasPending()) {
+            return;
+        }
+        Integer sequenced = transactionTemplate.execute(status -> studentChangeRepository.sequencePending());
+        log.debug("Sequenced {} changes", sequenced);
+    }
+
+    /**
+     * Reads the feed position before the listeners' startup rebuilds scan the table, so the changes sequenced during
+     * their scans are handed to them by the next poll.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void start() {
+        pollLock.lock();
+        try {
+            position = readOnlyTransaction.execute(status -> studentChangeRepository.findLastSequence());
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${students.changes.poll-interval}",
+            initialDelayString = "${students.changes.poll-interval}")
+    public void poll() {
+        if (!pollLock.tryLock()) {
+            return;
+        }
+        try {
+            sequence();
+            if (position < 0) {
+                return;
+            }
+            readOnlyTransaction.executeWithoutResult(status -> {
+                long upTo = studentChangeRepository.findLastSequence();
+                List<StudentChangeResponseDto> changes;
+                do {
+                    changes = read(position, upTo, POLL_BATCH_SIZE);
+                    if (!changes.isEmpty()) {
+                        List<StudentChangeResponseDto> batch = changes;
+                        listeners.forEach(listener -> listener.onChanges(batch));
+                        position = changes.getLast().getSequence();
+                    }
+                } while (changes.size() == POLL_BATCH_SIZE);
+            });
+            synced(true);
+        } catch (DataAccessException e) {
+            if (synced) {
+                log.warn("Change feed could not be read, listeners fall back until it can", e);
+            }
+            synced(false);
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    /**
+     * Merges the student and tombstone changes in (after, upTo]. Both tables draw from the same sequence and an id is
+     * never reused, so they can be read apart; the upper bound keeps a change that commits between the two reads
+     * from being skipped.
+     */
+    private List<StudentChangeResponseDto> read(long after, long upTo, int limit) {
+        List<StudentChangeResponseDto> updates = studentRepository.findChangesBetween(after, upTo, Limit.of(limit));
+        List<StudentChangeResponseDto> deletes =
+                studentTombstoneRepository.findChangesBetween(after, upTo, Limit.of(limit));
+
+        List<StudentChangeResponseDto> changes = new ArrayList<>(limit);
+        int update = 0;
+        int delete = 0;
+        while (changes.size() < limit && (update < updates.size() || delete < deletes.size())) {
+            StudentChangeResponseDto change = delete == deletes.size() || (update < updates.size()
+                    && updates.get(update).getSequence() < deletes.get(delete).getSequence())
+                    ? updates.get(update++) : deletes.get(delete++);
+            changes.add(change);
+        }
+        return changes;
+    }
+
+    private void synced(boolean synced) {
+        this.synced = synced;
+        listeners.forEach(listener -> listener.onSynced(synced));
+    }
+
+    private static long decode(String token) throws BadRequestException {
+        if (token == null || token.isBlank()) {
+            return 0;
+        }
+        try {
+            long sequence = Long.parseLong(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+            if (sequence < 0) {
+                throw new BadRequestException(INVALID_TOKEN);
+            }
+            return sequence;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(INVALID_TOKEN);
+        }
+    }
+
+    private static String encode(long sequence) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(sequence).getBytes(StandardCharsets.UTF_8));
+    }
+}
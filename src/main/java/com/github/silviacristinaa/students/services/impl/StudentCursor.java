@@ -0,0 +1,50 @@
+package com.github.silviacristinaa.students.services.impl;
+
+import com.github.silviacristinaa.students.dtos.responses.StudentResponseDto;
+import com.github.silviacristinaa.students.enums.CursorSortEnum;
+import com.github.silviacristinaa.students.exceptions.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position: the sort it belongs to plus the sort key of the last row returned.
+ * Encoded as URL-safe Base64 of {@code SORT:id[:name]}.
+ */
+@AllArgsConstructor
+@Getter
+class StudentCursor {
+
+    private static final String INVALID_CURSOR = "Invalid cursor";
+    private static final String SEPARATOR = ":";
+
+    private final CursorSortEnum sort;
+    private final Long id;
+    private final String name;
+
+    static StudentCursor after(CursorSortEnum sort, StudentResponseDto student) {
+        return new StudentCursor(sort, student.getId(), sort == CursorSortEnum.NAME ? student.getName() : null);
+    }
+
+    static StudentCursor decode(String token) throws BadRequestException {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, 3);
+            CursorSortEnum sort = CursorSortEnum.valueOf(parts[0]);
+            Long id = Long.valueOf(parts[1]);
+            if (sort == CursorSortEnum.NAME) {
+                return new StudentCursor(sort, id, parts[2]);
+            }
+            return new StudentCursor(sort, id, null);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new BadRequestException(INVALID_CURSOR);
+        }
+    }
+
+    String encode() {
+        String value = sort + SEPARATOR + id + (name == null ? "" : SEPARATOR + name);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
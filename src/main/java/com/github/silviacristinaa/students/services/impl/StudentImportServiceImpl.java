@@ -0,0 +1,322 @@
+package com.github.silviacristinaa.students.services.impl;
+
+import com.github.silviacristinaa.students.dtos.requests.StudentRequestDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentImportErrorResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentImportResponseDto;
+import com.github.silviacristinaa.students.entities.Student;
+import com.github.silviacristinaa.students.enums.CourseEnum;
+import com.github.silviacristinaa.students.exceptions.BadRequestException;
+import com.github.silviacristinaa.students.mappers.StudentMapper;
+import com.github.silviacristinaa.students.repositories.StudentCopyRepository;
+import com.github.silviacristinaa.students.repositories.StudentRepository;
+import com.github.silviacristinaa.students.services.StudentAvailabilityService;
+import com.github.silviacristinaa.students.services.StudentNameSearchService;
+import com.github.silviacristinaa.students.services.StudentImportService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports students from a CSV file with the header {@code name,cpf,email,course,active}.
+ * The file is read record by record, a quoted field may span several lines, and processed in chunks: each chunk
+ * is validated in parallel, checked for duplicates against the rest of the file and the database, and written in
+ * a single transaction.
+ * Only the CPFs and emails seen so far are kept across chunks.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudentImportServiceImpl implements StudentImportService {
+
+    private static final String HEADER = "name,cpf,email,course,active";
+    private static final String INVALID_HEADER = "The first line must be the header " + HEADER;
+    private static final String INVALID_COLUMNS = "Expected 5 columns but found %s";
+    private static final String INVALID_COURSE = "The course must be one of " + Arrays.toString(CourseEnum.values());
+    private static final String INVALID_ACTIVE = "The active flag must be true or false";
+    private static final String UNCLOSED_QUOTE = "A quoted field is not closed before the end of the file";
+    private static final String FIELD_ERROR = "%s: %s";
+    private static final String CPF_DUPLICATED_IN_FILE = "CPF duplicated in the file";
+    private static final String EMAIL_DUPLICATED_IN_FILE = "Email duplicated in the file";
+    private static final String CPF_ALREADY_REGISTERED_IN_THE_SYSTEM = "CPF already registered in the system";
+    private static final String EMAIL_ALREADY_REGISTERED_IN_THE_SYSTEM = "Email already registered in the system";
+    private static final String ROW_NOT_WRITTEN = "Row could not be written: %s";
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private static final int CHUNK_SIZE = 5000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final Validator validator;
+    private final StudentRepository studentRepository;
+    private final StudentCopyRepository studentCopyRepository;
+    private final RegistrationGenerator registrationGenerator;
+    private final StudentAvailabilityService studentAvailabilityService;
+    private final StudentNameSearchService studentNameSearchService;
+    private final StudentMapper studentMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public StudentImportResponseDto importCsv(InputStream inputStream) throws IOException, BadRequestException {
+        long start = System.nanoTime();
+        ImportReport report = new ImportReport();
+        Set<String> seenCpfs = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null || !HEADER.equalsIgnoreCase(header.replace(BYTE_ORDER_MARK, "").trim())) {
+                throw new BadRequestException(INVALID_HEADER);
+            }
+
+            List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            RecordReader records = new RecordReader(reader);
+            String text;
+            while ((text = records.next()) != null) {
+                if (text.isBlank()) {
+                    continue;
+                }
+                chunk.add(records.closed ? parse(records.line, text) : unclosed(records.line));
+                if (chunk.size() == CHUNK_SIZE) {
+                    process(chunk, seenCpfs, seenEmails, report);
+                    chunk.clear();
+                }
+            }
+            process(chunk, seenCpfs, seenEmails, report);
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        double rowsPerSecond = report.rows * 1000.0 / Math.max(elapsedMillis, 1);
+        log.info("Imported {} of {} rows in {} ms ({} rows/s)", report.imported, report.rows, elapsedMillis,
+                Math.round(rowsPerSecond));
+
+        return new StudentImportResponseDto(report.rows, report.imported, report.rows - report.imported,
+                elapsedMillis, rowsPerSecond, report.errors);
+    }
+
+    private void process(List<ImportRow> chunk, Set<String> seenCpfs, Set<String> seenEmails, ImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        // Each row only touches its own error list, so validation can fan out over all cores
+        chunk.parallelStream()
+                .filter(row -> row.student != null)
+                .forEach(row -> validator.validate(row.student).forEach(violation -> row.errors.add(
+                        String.format(FIELD_ERROR, violation.getPropertyPath(), violation.getMessage()))));
+
+        List<ImportRow> valid = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (!row.errors.isEmpty()) {
+                continue;
+            }
+            if (!seenCpfs.add(row.student.getCpf())) {
+                row.errors.add(CPF_DUPLICATED_IN_FILE);
+            } else if (!seenEmails.add(row.student.getEmail())) {
+                row.errors.add(EMAIL_DUPLICATED_IN_FILE);
+            } else {
+                valid.add(row);
+            }
+        }
+
+        Set<String> takenCpfs = new HashSet<>(studentRepository.findExistingCpfs(valid.stream()
+                .map(row -> row.student.getCpf()).collect(Collectors.toSet())));
+        Set<String> takenEmails = new HashSet<>(studentRepository.findExistingEmails(valid.stream()
+                .map(row -> row.student.getEmail()).collect(Collectors.toSet())));
+
+        List<ImportRow> accepted = new ArrayList<>(valid.size());
+        List<Student> students = new ArrayList<>(valid.size());
+        for (ImportRow row : valid) {
+            if (takenCpfs.contains(row.student.getCpf())) {
+                row.errors.add(CPF_ALREADY_REGISTERED_IN_THE_SYSTEM);
+            } else if (takenEmails.contains(row.student.getEmail())) {
+                row.errors.add(EMAIL_ALREADY_REGISTERED_IN_THE_SYSTEM);
+            } else {
+                Student student = studentMapper.toEntity(row.student);
+                student.setRegistration(registrationGenerator.next());
+                students.add(student);
+                accepted.add(row);
+            }
+        }
+
+        try {
+            write(students);
+            report.imported += students.size();
+        } catch (DataAccessException e) {
+            log.warn("Chunk ending at line {} could not be written", chunk.get(chunk.size() - 1).line, e);
+            String error = String.format(ROW_NOT_WRITTEN, e.getMostSpecificCause().getMessage());
+            accepted.forEach(row -> row.errors.add(error));
+        }
+
+        report.rows += chunk.size();
+        for (ImportRow row : chunk) {
+            if (!row.errors.isEmpty() && report.errors.size() < MAX_REPORTED_ERRORS) {
+                report.errors.add(new StudentImportErrorResponseDto(row.line, row.errors));
+            }
+        }
+    }
+
+    private void write(List<Student> students) {
+        if (students.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (studentCopyRepository.isSupported()) {
+                studentCopyRepository.copy(students);
+            } else {
+                studentRepository.saveAllAndFlush(students);
+                entityManager.clear();
+            }
+            students.forEach(student -> {
+                studentAvailabilityService.register(student.getCpf(), student.getEmail());
+                studentNameSearchService.register(student.getId(), student.getName());
+            });
+        });
+    }
+
+    private static ImportRow parse(long line, String text) {
+        ImportRow row = new ImportRow(line);
+        List<String> fields = split(text);
+        if (fields.size() != 5) {
+            row.errors.add(String.format(INVALID_COLUMNS, fields.size()));
+            return row;
+        }
+
+        CourseEnum course = null;
+        try {
+            course = CourseEnum.valueOf(fields.get(3).toUpperCase());
+        } catch (IllegalArgumentException e) {
+            row.errors.add(INVALID_COURSE);
+        }
+
+        String active = fields.get(4).toLowerCase();
+        if (!active.equals("true") && !active.equals("false")) {
+            row.errors.add(INVALID_ACTIVE);
+        }
+
+        if (row.errors.isEmpty()) {
+            row.student = new StudentRequestDto(fields.get(0), fields.get(1), fields.get(2), course,
+                    Boolean.parseBoolean(active));
+        }
+        return row;
+    }
+
+    private static ImportRow unclosed(long line) {
+        ImportRow row = new ImportRow(line);
+        row.errors.add(UNCLOSED_QUOTE);
+        return row;
+    }
+
+    private static List<String> split(String text) {
+        List<String> fields = new ArrayList<>(5);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    /**
+     * Reads one CSV record at a time, joining lines while a quoted field is still open. An escaped quote counts
+     * twice, so the record ends on the first line that leaves an even number of quotes.
+     */
+    private static class RecordReader {
+
+        private final BufferedReader reader;
+        private long lastLine = 1;
+
+        /**
+         * First line of the record last returned, and whether its quotes were closed before the end of the file.
+         */
+        private long line;
+        private boolean closed;
+
+        private RecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        private String next() throws IOException {
+            String text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line = ++lastLine;
+            closed = quotes(text) % 2 == 0;
+            if (closed) {
+                return text;
+            }
+
+            StringBuilder record = new StringBuilder(text);
+            int quotes = quotes(text);
+            while (quotes % 2 != 0 && (text = reader.readLine()) != null) {
+                lastLine++;
+                record.append('\n').append(text);
+                quotes += quotes(text);
+            }
+            closed = quotes % 2 == 0;
+            return record.toString();
+        }
+
+        private static int quotes(String text) {
+            int quotes = 0;
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) == '"') {
+                    quotes++;
+                }
+            }
+            return quotes;
+        }
+    }
+
+    private static class ImportRow {
+
+        private final long line;
+        private final List<String> errors = new ArrayList<>();
+        private StudentRequestDto student;
+
+        private ImportRow(long line) {
+            this.line = line;
+        }
+    }
+
+    private static class ImportReport {
+
+        private long rows;
+        private long imported;
+        private final List<StudentImportErrorResponseDto> errors = new ArrayList<>();
+    }
+}
@@ -0,0 +1,193 @@
+package com.github.silviacristinaa.students.services.impl;
+
+import com.github.silviacristinaa.students.dtos.responses.StudentChangeResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentNameMatchResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentResponseDto;
+import com.github.silviacristinaa.students.enums.ChangeTypeEnum;
+import com.github.silviacristinaa.students.exceptions.BadRequestException;
+import com.github.silviacristinaa.students.repositories.StudentNameSearchRepository;
+import com.github.silviacristinaa.students.repositories.StudentRepository;
+import com.github.silviacristinaa.students.repositories.projections.StudentNameProjection;
+import com.github.silviacristinaa.students.services.StudentChangeListener;
+import com.github.silviacristinaa.students.services.StudentNameSearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Typo-tolerant name search ranked by trigram similarity. PostgreSQL with pg_trgm answers it from a GIN index;
+ * other databases (H2 in tests and benchmarks) use an in-memory {@link TrigramIndex} built from the student table.
+ * <p>
+ * Writes made by this instance reach the index when they commit. Writes made by other instances reach it through
+ * the change feed, which {@link StudentChangeServiceImpl} hands it like it does to the availability filters.
+ */
+@Slf4j
+@Service
+public class StudentNameSearchServiceImpl implements StudentNameSearchService, StudentChangeListener {
+
+    private static final String NAME_REQUIRED = "Inform a name to search";
+    private static final String INVALID_SIZE = "Size must be between 1 and %s";
+    private static final int MAX_SIZE = 50;
+
+    private final StudentRepository studentRepository;
+    private final StudentNameSearchRepository studentNameSearchRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final double threshold;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile TrigramIndex index;
+    private volatile TrigramIndex building;
+
+    public StudentNameSearchServiceImpl(StudentRepository studentRepository,
+                                        StudentNameSearchRepository studentNameSearchRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${students.name-search.threshold}") double threshold) {
+        this.studentRepository = studentRepository;
+        this.studentNameSearchRepository = studentNameSearchRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.threshold = threshold;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StudentNameMatchResponseDto> search(String name, int size) throws BadRequestException {
+        if (name == null || name.isBlank()) {
+            throw new BadRequestException(NAME_REQUIRED);
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            throw new BadRequestException(String.format(INVALID_SIZE, MAX_SIZE));
+        }
+        if (studentNameSearchRepository.isSupported()) {
+            return studentNameSearchRepository.search(name, size, threshold);
+        }
+
+        TrigramIndex current = index;
+        if (current == null) {
+            return List.of();
+        }
+        List<TrigramIndex.Match> matches = current.search(name, size, threshold);
+        Map<Long, StudentResponseDto> students = studentRepository.findResponsesByIdIn(
+                        matches.stream().map(TrigramIndex.Match::id).toList()).stream()
+                .collect(Collectors.toMap(StudentResponseDto::getId, Function.identity()));
+
+        return matches.stream()
+                .filter(match -> students.containsKey(match.id()))
+                .map(match -> {
+                    StudentResponseDto student = students.get(match.id());
+                    return new StudentNameMatchResponseDto(student.getId(), student.getName(),
+                            student.getRegistration(), student.getCourse(), student.isActive(), match.similarity());
+                })
+                .toList();
+    }
+
+    @Override
+    public void register(Long id, String name) {
+        afterCommit(next -> next.put(id, name));
+    }
+
+    @Override
+    public void remove(Long id) {
+        afterCommit(next -> next.remove(id));
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${students.name-search.rebuild-interval}",
+            initialDelayString = "${students.name-search.rebuild-interval}")
+    public void rebuild() {
+        if (studentNameSearchRepository.isSupported()) {
+            return;
+        }
+        rebuildLock.lock();
+        try {
+            TrigramIndex next = new TrigramIndex();
+            building = next;
+            try {
+                // Changes polled during the scan reach the new index through building
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<StudentNameProjection> names = studentRepository.streamAllNames()) {
+                        names.forEach(student -> next.put(student.getId(), student.getName()));
+                    }
+                });
+                index = next;
+            } finally {
+                building = null;
+            }
+            log.info("Name search index rebuilt with {} students", next.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Applies the students renamed, created and deleted, wherever the change was made.
+     */
+    @Override
+    public void onChanges(List<StudentChangeResponseDto> changes) {
+        if (studentNameSearchRepository.isSupported()) {
+            return;
+        }
+        for (StudentChangeResponseDto change : changes) {
+            if (change.getType() == ChangeTypeEnum.DELETE) {
+                apply(next -> next.remove(change.getId()));
+            } else {
+                apply(next -> next.put(change.getId(), change.getStudent().getName()));
+            }
+        }
+    }
+
+    /**
+     * Nothing to do: until the feed can be read again, searches only miss what other instances changed.
+     */
+    @Override
+    public void onSynced(boolean synced) {
+    }
+
+    /**
+     * Applies the change once the surrounding transaction commits, to the published index and to one a
+     * concurrent rebuild is about to publish. Nothing to do when PostgreSQL answers the searches.
+     */
+    private void afterCommit(Consumer<TrigramIndex> change) {
+        if (studentNameSearchRepository.isSupported()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Consumer<TrigramIndex> change) {
+        TrigramIndex next = building;
+        if (next != null) {
+            change.accept(next);
+        }
+        TrigramIndex current = index;
+        if (current != null) {
+            change.accept(current);
+        }
+    }
+}
@@ -1,24 +1,60 @@
 package com.github.silviacristinaa.students.services.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.silviacristinaa.students.concurrency.Coalesced;
+import com.github.silviacristinaa.students.configs.CacheConfig;
+import com.github.silviacristinaa.students.dtos.requests.StudentBulkStatusRequestDto;
 import com.github.silviacristinaa.students.dtos.requests.StudentRequestDto;
+import com.github.silviacristinaa.students.dtos.requests.StudentSearchRequestDto;
 import com.github.silviacristinaa.students.dtos.requests.StudentStatusRequestDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentBatchItemResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentBatchResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentBulkStatusResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentCursorResponseDto;
 import com.github.silviacristinaa.students.dtos.responses.StudentResponseDto;
 import com.github.silviacristinaa.students.entities.Student;
-import com.github.silviacristinaa.students.exceptions.ConflictException;
+import com.github.silviacristinaa.students.enums.BatchItemStatusEnum;
+import com.github.silviacristinaa.students.enums.CourseEnum;
+import com.github.silviacristinaa.students.enums.CursorSortEnum;
+import com.github.silviacristinaa.students.exceptions.BadRequestException;
 import com.github.silviacristinaa.students.exceptions.NotFoundException;
+import com.github.silviacristinaa.students.exceptions.PreconditionFailedException;
+import com.github.silviacristinaa.students.mappers.StudentMapper;
 import com.github.silviacristinaa.students.repositories.StudentRepository;
+import com.github.silviacristinaa.students.repositories.StudentSearchRepository;
+import com.github.silviacristinaa.students.repositories.StudentTombstoneRepository;
+import com.github.silviacristinaa.students.repositories.projections.StudentStatusProjection;
+import com.github.silviacristinaa.students.services.StudentAvailabilityService;
+import com.github.silviacristinaa.students.services.StudentNameSearchService;
 import com.github.silviacristinaa.students.services.StudentService;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Optional;
-import java.util.UUID;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -28,88 +64,310 @@ public class StudentServiceImpl implements StudentService {
     private static final String CPF_ALREADY_REGISTERED_IN_THE_SYSTEM = "CPF already registered in the system";
     private static final String EMAIL_ALREADY_REGISTERED_IN_THE_SYSTEM = "Email already registered in the system";
     private static final String STUDENT_NOT_FOUND = "Student %s not found";
+    private static final String VERSION_MISMATCH = "Student %s is at version %s";
+    private static final String INVALID_PAGE_SIZE = "Page size must be between 1 and %s";
+    private static final String CURSOR_SORT_MISMATCH = "Cursor was issued for sort %s";
+    private static final String INVALID_BULK_SELECTION =
+            "Select students either by ids or by course and/or current status";
+    private static final String STATUS_UPDATE_MISMATCH =
+            "Expected to change the status of %s locked students, changed %s";
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+    private static final String NEW_LINE = "\n";
+
+    /**
+     * Must match hibernate.jdbc.batch_size and the student_seq allocation size so that each
+     * chunk is sent as a single JDBC batch and needs at most one sequence round trip.
+     */
+    private static final int BATCH_SIZE = 50;
+
+    /**
+     * Ids bound per bulk status UPDATE. Each chunk commits on its own, keeping each IN list and the row locks held
+     * at once bounded.
+     */
+    private static final int STATUS_CHUNK_SIZE = 1000;
 
     private final StudentRepository studentRepository;
-    private final ModelMapper modelMapper;
+    private final StudentSearchRepository studentSearchRepository;
+    private final StudentTombstoneRepository studentTombstoneRepository;
+    private final StudentMapper studentMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final RegistrationGenerator registrationGenerator;
+    private final StudentAvailabilityService studentAvailabilityService;
+    private final StudentNameSearchService studentNameSearchService;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
+    @Coalesced
+    @Transactional(readOnly = true)
     public Page<StudentResponseDto> findAll(Pageable pageable) {
-        return studentRepository.findAll(pageable)
-                .map(student -> modelMapper.map(student, StudentResponseDto.class));
+        return studentRepository.findAllResponses(pageable);
     }
 
     @Override
-    public StudentResponseDto findOneStudentById(Long id) throws NotFoundException {
-        Student student = findById(id);
-        return modelMapper.map(student, StudentResponseDto.class);
+    @Transactional(readOnly = true)
+    public StudentCursorResponseDto findAll(String after, int size, CursorSortEnum sort) throws BadRequestException {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException(String.format(INVALID_PAGE_SIZE, MAX_CURSOR_PAGE_SIZE));
+        }
+
+        StudentCursor cursor = after == null || after.isBlank() ? null : StudentCursor.decode(after);
+        if (cursor != null && cursor.getSort() != sort) {
+            throw new BadRequestException(String.format(CURSOR_SORT_MISMATCH, cursor.getSort()));
+        }
+
+        // One extra row tells whether there is a next page without running a count query
+        Limit limit = Limit.of(size + 1);
+        List<StudentResponseDto> content;
+        if (sort == CursorSortEnum.NAME) {
+            content = cursor == null ? studentRepository.findResponsesOrderedByName(limit)
+                    : studentRepository.findResponsesAfterNameAndId(cursor.getName(), cursor.getId(), limit);
+        } else {
+            content = cursor == null ? studentRepository.findResponsesOrderedById(limit)
+                    : studentRepository.findResponsesAfterId(cursor.getId(), limit);
+        }
+
+        String next = null;
+        if (content.size() > size) {
+            content = content.subList(0, size);
+            next = StudentCursor.after(sort, content.get(size - 1)).encode();
+        }
+
+        return new StudentCursorResponseDto(content, content.size(), next);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<StudentResponseDto> search(StudentSearchRequestDto filter, Pageable pageable) {
+        return studentSearchRepository.search(filter, pageable);
     }
 
+    /**
+     * Not read-only, so a miss loads from the primary: StudentCache drops fills read from a possibly lagging
+     * replica, and a replica load would leave the cache empty. Only misses pay for it.
+     */
     @Override
+    @Coalesced
     @Transactional
-    public Student create(StudentRequestDto studentRequestDto) throws ConflictException {
-        checkCpfExists(studentRequestDto.getCpf(), null);
-        checkEmailExists(studentRequestDto.getEmail(), null);
+    @Cacheable(cacheNames = CacheConfig.STUDENTS, key = "#id")
+    public StudentResponseDto findOneStudentById(Long id) throws NotFoundException {
+        return studentRepository.findResponseById(id)
+                .orElseThrow(() -> new NotFoundException(String.format(STUDENT_NOT_FOUND, id)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(CourseEnum course, Boolean active, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(StudentResponseDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
 
-        Student student = modelMapper.map(studentRequestDto, Student.class);
-        String registration = generateRegistration();
-        student.setRegistration(registration);
+        try (Stream<Student> students = studentRepository.streamAll(course, active);
+             JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.setRootValueSeparator(null);
 
-        return studentRepository.save(student);
+            for (Student student : (Iterable<Student>) students::iterator) {
+                writer.writeValue(generator, studentMapper.toResponseDto(student));
+                generator.writeRaw(NEW_LINE);
+                // Rows are not needed once written, so keep the persistence context from growing with the table
+                entityManager.detach(student);
+            }
+        }
     }
 
+    /**
+     * A CPF or email already taken fails on its unique constraint, answered as a conflict. The insert is flushed
+     * here so the violation surfaces from this call rather than from the commit.
+     */
     @Override
     @Transactional
-    public void updateStudentStatus(Long id, StudentStatusRequestDto studentStatusRequestDto) throws NotFoundException {
-        Student student = findById(id);
+    public Student create(StudentRequestDto studentRequestDto) {
+        Student student = studentMapper.toEntity(studentRequestDto);
+        student.setRegistration(registrationGenerator.next());
 
-        student.setActive(studentStatusRequestDto.isActive());
-        studentRepository.save(student);
+        studentAvailabilityService.register(student.getCpf(), student.getEmail());
+        Student saved = studentRepository.saveAndFlush(student);
+        studentNameSearchService.register(saved.getId(), saved.getName());
+        return saved;
     }
 
     @Override
     @Transactional
-    public void update(Long id, StudentRequestDto studentRequestDto) throws NotFoundException, ConflictException {
-        Student student = findById(id);
+    public StudentBatchResponseDto createAll(List<StudentRequestDto> studentRequestDtos) {
+        Set<String> takenCpfs = new HashSet<>(studentRepository.findExistingCpfs(studentRequestDtos.stream()
+                .map(StudentRequestDto::getCpf).collect(Collectors.toSet())));
+        Set<String> takenEmails = new HashSet<>(studentRepository.findExistingEmails(studentRequestDtos.stream()
+                .map(StudentRequestDto::getEmail).collect(Collectors.toSet())));
+
+        List<StudentBatchItemResponseDto> items = new ArrayList<>(studentRequestDtos.size());
+        List<StudentBatchItemResponseDto> createdItems = new ArrayList<>();
+        List<Student> students = new ArrayList<>();
 
-        checkCpfExists(studentRequestDto.getCpf(), id);
-        checkEmailExists(studentRequestDto.getEmail(), id);
+        for (int index = 0; index < studentRequestDtos.size(); index++) {
+            StudentRequestDto studentRequestDto = studentRequestDtos.get(index);
+            StudentBatchItemResponseDto item = new StudentBatchItemResponseDto();
+            item.setIndex(index);
+            items.add(item);
 
-        student.setName(studentRequestDto.getName());
-        student.setCpf(studentRequestDto.getCpf());
-        student.setEmail(studentRequestDto.getEmail());
-        student.setCourse(studentRequestDto.getCourse());
-        student.setActive(studentRequestDto.isActive());
+            if (takenCpfs.contains(studentRequestDto.getCpf())) {
+                item.setStatus(BatchItemStatusEnum.CONFLICT);
+                item.setError(CPF_ALREADY_REGISTERED_IN_THE_SYSTEM);
+                continue;
+            }
+            if (takenEmails.contains(studentRequestDto.getEmail())) {
+                item.setStatus(BatchItemStatusEnum.CONFLICT);
+                item.setError(EMAIL_ALREADY_REGISTERED_IN_THE_SYSTEM);
+                continue;
+            }
+            takenCpfs.add(studentRequestDto.getCpf());
+            takenEmails.add(studentRequestDto.getEmail());
 
-        studentRepository.save(student);
+            Student student = studentMapper.toEntity(studentRequestDto);
+            student.setRegistration(registrationGenerator.next());
+            students.add(student);
+            createdItems.add(item);
+        }
+
+        for (int from = 0; from < students.size(); from += BATCH_SIZE) {
+            List<Student> chunk = studentRepository.saveAllAndFlush(
+                    students.subList(from, Math.min(from + BATCH_SIZE, students.size())));
+            for (int i = 0; i < chunk.size(); i++) {
+                StudentBatchItemResponseDto item = createdItems.get(from + i);
+                item.setStatus(BatchItemStatusEnum.CREATED);
+                item.setId(chunk.get(i).getId());
+                studentAvailabilityService.register(chunk.get(i).getCpf(), chunk.get(i).getEmail());
+                studentNameSearchService.register(chunk.get(i).getId(), chunk.get(i).getName());
+            }
+        }
+
+        return new StudentBatchResponseDto(createdItems.size(), items.size() - createdItems.size(), items);
     }
 
     @Override
     @Transactional
-    public void delete(Long id) throws NotFoundException {
-        Student student = findById(id);
-        studentRepository.delete(student);
+    @CacheEvict(cacheNames = CacheConfig.STUDENTS, key = "#id")
+    public void updateStudentStatus(Long id, StudentStatusRequestDto studentStatusRequestDto, Long version)
+            throws NotFoundException, PreconditionFailedException {
+        int updated = studentRepository.updateStatusById(id, studentStatusRequestDto.isActive(), version);
+        checkUpdated(updated, id);
     }
 
-    private Student findById(Long id) throws NotFoundException {
-        return studentRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException(String.format(STUDENT_NOT_FOUND, id)));
+    @Override
+    public StudentBulkStatusResponseDto updateStudentsStatus(StudentBulkStatusRequestDto studentBulkStatusRequestDto)
+            throws BadRequestException {
+        List<Long> ids = studentBulkStatusRequestDto.getIds();
+        CourseEnum course = studentBulkStatusRequestDto.getCourse();
+        Boolean currentActive = studentBulkStatusRequestDto.getCurrentActive();
+        boolean byIds = ids != null && !ids.isEmpty();
+        if (byIds == (course != null || currentActive != null)) {
+            throw new BadRequestException(INVALID_BULK_SELECTION);
+        }
+
+        boolean active = studentBulkStatusRequestDto.getActive();
+        List<Long> affected = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        int unchanged = 0;
+
+        if (byIds) {
+            List<Long> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+            for (int from = 0; from < distinctIds.size(); from += STATUS_CHUNK_SIZE) {
+                List<Long> chunk = distinctIds.subList(from, Math.min(from + STATUS_CHUNK_SIZE, distinctIds.size()));
+                unchanged += transactionTemplate.execute(status -> {
+                    Map<Long, Boolean> statuses = studentRepository.findStatusesByIdIn(chunk).stream()
+                            .collect(Collectors.toMap(StudentStatusProjection::getId,
+                                    StudentStatusProjection::isActive));
+
+                    List<Long> changing = new ArrayList<>(chunk.size());
+                    for (Long id : chunk) {
+                        Boolean current = statuses.get(id);
+                        if (current == null) {
+                            missing.add(id);
+                        } else if (current != active) {
+                            changing.add(id);
+                        }
+                    }
+                    updateStatus(changing, active, affected);
+                    return statuses.size() - changing.size();
+                });
+            }
+        } else {
+            // Keyset over id, so each chunk is one index range scan however many rows were already changed
+            List<Long> chunk;
+            long after = 0;
+            do {
+                long from = after;
+                chunk = transactionTemplate.execute(status -> {
+                    List<Long> changing = studentRepository.findIdsToChangeStatus(from, course, currentActive,
+                            active, Limit.of(STATUS_CHUNK_SIZE));
+                    updateStatus(changing, active, affected);
+                    return changing;
+                });
+                if (!chunk.isEmpty()) {
+                    after = chunk.getLast();
+                }
+            } while (chunk.size() == STATUS_CHUNK_SIZE);
+        }
+
+        return new StudentBulkStatusResponseDto(affected.size(), unchanged, affected, missing);
     }
 
-    private void checkCpfExists(String cpf, Long id) throws ConflictException {
-        Optional<Student> student = studentRepository.findByCpf(cpf);
-        if(student.isPresent() && (id == null || !id.equals(student.get().getId()))) {
-            throw new ConflictException(CPF_ALREADY_REGISTERED_IN_THE_SYSTEM);
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.STUDENTS, key = "#id")
+    public void update(Long id, StudentRequestDto studentRequestDto, Long version)
+            throws NotFoundException, PreconditionFailedException {
+        // A CPF or email taken by another student fails on its unique constraint, answered as a conflict
+        int updated = studentRepository.updateById(id, studentRequestDto.getName(), studentRequestDto.getCpf(),
+                studentRequestDto.getEmail(), studentRequestDto.getCourse(), studentRequestDto.isActive(), version);
+        checkUpdated(updated, id);
+
+        studentAvailabilityService.register(studentRequestDto.getCpf(), studentRequestDto.getEmail());
+        studentNameSearchService.register(id, studentRequestDto.getName());
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.STUDENTS, key = "#id")
+    public void delete(Long id) throws NotFoundException {
+        if (studentRepository.deleteStudentById(id) == 0) {
+            throw new NotFoundException(String.format(STUDENT_NOT_FOUND, id));
         }
+        studentTombstoneRepository.insertTombstone(id);
+        studentNameSearchService.remove(id);
     }
 
-    private void checkEmailExists(String email, Long id) throws ConflictException {
-        Optional<Student> student = studentRepository.findByEmail(email);
-        if(student.isPresent() && (id == null || !id.equals(student.get().getId()))) {
-            throw new ConflictException(EMAIL_ALREADY_REGISTERED_IN_THE_SYSTEM);
+    /**
+     * The ids were read with their rows locked, so none of them can have reached the target status since and the
+     * update changes every one; should it report fewer, the chunk rolls back rather than report the wrong ids.
+     * Cached students are evicted through the transaction-aware cache, so only once the chunk commits.
+     */
+    private void updateStatus(List<Long> ids, boolean active, List<Long> affected) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        int updated = studentRepository.updateStatus(ids, active);
+        if (updated != ids.size()) {
+            throw new IllegalStateException(String.format(STATUS_UPDATE_MISMATCH, ids.size(), updated));
+        }
+        affected.addAll(ids);
+
+        Cache cache = cacheManager.getCache(CacheConfig.STUDENTS);
+        if (cache != null) {
+            ids.forEach(cache::evict);
         }
     }
 
-    private String generateRegistration() {
-        return UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    /**
+     * Tells a missing student from a stale If-Match once a conditional write touched no row. Only this failure
+     * path reads the student.
+     */
+    private void checkUpdated(int updated, Long id) throws NotFoundException, PreconditionFailedException {
+        if (updated > 0) {
+            return;
+        }
+        Long current = studentRepository.findVersionById(id)
+                .orElseThrow(() -> new NotFoundException(String.format(STUDENT_NOT_FOUND, id)));
+        throw new PreconditionFailedException(String.format(VERSION_MISMATCH, id, current));
     }
 }
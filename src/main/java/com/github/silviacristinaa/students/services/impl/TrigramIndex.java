@@ -0,0 +1,265 @@
+package com.github.silviacristinaa.students.services.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram inverted index over student names. Words are split and padded the way pg_trgm does, so the
+ * similarity matches the one PostgreSQL reports. Each indexed name gets a dense document number whose postings
+ * are plain int arrays; renaming or removing a student only marks its old document dead, and once dead documents
+ * outnumber live ones they are compacted away.
+ */
+class TrigramIndex {
+
+    private static final long DEAD = -1;
+    private static final int MINIMUM_COMPACTION = 1024;
+    private static final Comparator<Match> RANKING = Comparator.comparingDouble(Match::similarity)
+            .thenComparing(Match::id, Comparator.reverseOrder());
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> documents = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids = new long[1024];
+    private String[] names = new String[1024];
+    private int[] trigramCounts = new int[1024];
+    private int documentCount;
+    private int deadCount;
+
+    /**
+     * Indexes the name under the id, unless it is already indexed under that name: status changes and synced
+     * changes re-register names far more often than they rename.
+     */
+    void put(Long id, String name) {
+        if (isIndexed(id, name)) {
+            return;
+        }
+        Set<String> trigrams = trigrams(name);
+        lock.writeLock().lock();
+        try {
+            Integer previous = documents.get(id);
+            if (previous != null && name.equals(names[previous])) {
+                return;
+            }
+            remove(previous);
+            if (documentCount == ids.length) {
+                ids = Arrays.copyOf(ids, documentCount * 2);
+                names = Arrays.copyOf(names, documentCount * 2);
+                trigramCounts = Arrays.copyOf(trigramCounts, documentCount * 2);
+            }
+            int document = documentCount++;
+            ids[document] = id;
+            names[document] = name;
+            trigramCounts[document] = trigrams.size();
+            for (String trigram : trigrams) {
+                postings.computeIfAbsent(trigram, key -> new Postings()).add(document);
+            }
+            documents.put(id, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            remove(documents.remove(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean isIndexed(Long id, String name) {
+        lock.readLock().lock();
+        try {
+            Integer document = documents.get(id);
+            return document != null && name.equals(names[document]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the trigrams each document shares with the query in one pass over the query's posting lists
+     * (ScanCount), then ranks the documents sharing at least {@code threshold * |query trigrams|} of them, the
+     * least a match can share since the union is never smaller than the query. The counts live in a hash table
+     * sized to the postings read, so a query costs what it touches rather than the size of the index.
+     */
+    List<Match> search(String query, int size, double threshold) {
+        Set<String> queryTrigrams = trigrams(query);
+        if (queryTrigrams.isEmpty()) {
+            return List.of();
+        }
+        int required = Math.max(1, (int) Math.ceil(threshold * queryTrigrams.size()));
+
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(queryTrigrams.size());
+            int read = 0;
+            for (String trigram : queryTrigrams) {
+                Postings list = postings.get(trigram);
+                if (list != null) {
+                    lists.add(list);
+                    read += list.size;
+                }
+            }
+            SharedCounts shared = new SharedCounts(Math.min(read, documentCount));
+            for (Postings list : lists) {
+                for (int i = 0; i < list.size; i++) {
+                    shared.increment(list.documents[i]);
+                }
+            }
+
+            PriorityQueue<Match> best = new PriorityQueue<>(size + 1, RANKING);
+            for (int slot = 0; slot < shared.keys.length; slot++) {
+                int document = shared.keys[slot] - 1;
+                int common = shared.counts[slot];
+                if (document < 0 || common < required || ids[document] == DEAD) {
+                    continue;
+                }
+                double similarity = (double) common / (queryTrigrams.size() + trigramCounts[document] - common);
+                if (similarity >= threshold) {
+                    best.add(new Match(ids[document], similarity));
+                    if (best.size() > size) {
+                        best.poll();
+                    }
+                }
+            }
+
+            List<Match> matches = new ArrayList<>(best);
+            matches.sort(RANKING.reversed());
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean letterOrDigit = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                String padded = "  " + lower.substring(start, i) + " ";
+                for (int j = 0; j + 3 <= padded.length(); j++) {
+                    trigrams.add(padded.substring(j, j + 3));
+                }
+                start = -1;
+            }
+        }
+        return trigrams;
+    }
+
+    private void remove(Integer document) {
+        if (document != null) {
+            ids[document] = DEAD;
+            names[document] = null;
+            if (++deadCount > documents.size() && deadCount >= MINIMUM_COMPACTION) {
+                compact();
+            }
+        }
+    }
+
+    /**
+     * Renumbers the live documents densely, in their current order so every posting list stays sorted, and drops
+     * the dead ones from the postings.
+     */
+    private void compact() {
+        int[] renumbered = new int[documentCount];
+        int live = 0;
+        for (int document = 0; document < documentCount; document++) {
+            if (ids[document] == DEAD) {
+                renumbered[document] = -1;
+                continue;
+            }
+            renumbered[document] = live;
+            ids[live] = ids[document];
+            names[live] = names[document];
+            trigramCounts[live] = trigramCounts[document];
+            documents.put(ids[live], live);
+            live++;
+        }
+        Arrays.fill(names, live, documentCount, null);
+        postings.values().removeIf(list -> list.renumber(renumbered) == 0);
+        documentCount = live;
+        deadCount = 0;
+    }
+
+    record Match(Long id, double similarity) {
+    }
+
+    private static class Postings {
+
+        private int[] documents = new int[4];
+        private int size;
+
+        private void add(int document) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+
+        private int renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int document = renumbered[documents[i]];
+                if (document >= 0) {
+                    documents[kept++] = document;
+                }
+            }
+            size = kept;
+            return size;
+        }
+    }
+
+    /**
+     * Open-addressed map from document number to shared trigram count, at most half full. Keys are stored plus
+     * one so that zero marks an empty slot.
+     */
+    private static class SharedCounts {
+
+        private final int[] keys;
+        private final int[] counts;
+        private final int mask;
+
+        private SharedCounts(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(2, expected) * 2 - 1) << 1;
+            this.keys = new int[capacity];
+            this.counts = new int[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private void increment(int document) {
+            int key = document + 1;
+            int hash = key * 0x9E3779B9;
+            int slot = (hash ^ hash >>> 16) & mask;
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            counts[slot]++;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.silviacristinaa.students.caches;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.silviacristinaa.students.dtos.responses.StudentResponseDto;
+import com.github.silviacristinaa.students.enums.CourseEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+public class StudentCacheTest {
+
+    private static final Long ID = 1L;
+
+    private StudentCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new StudentCache("students", Caffeine.newBuilder().build());
+    }
+
+    @Test
+    void whenAMissIsFilledWithoutAnEvictionCacheTheStudent() {
+        assertNull(cache.get(ID));
+        cache.put(ID, student(1L));
+
+        assertEquals(1L, cache.get(ID, StudentResponseDto.class).getVersion());
+    }
+
+    @Test
+    void whenTheStudentIsEvictedBetweenTheMissAndTheFillDropTheFill() {
+        assertNull(cache.get(ID));
+        cache.evict(ID);
+        cache.put(ID, student(1L));
+
+        assertNull(cache.get(ID));
+    }
+
+    @Test
+    void whenAnOlderVersionIsFilledAfterANewerOneKeepTheNewer() {
+        assertNull(cache.get(ID));
+        CompletableFuture.runAsync(() -> {
+            assertNull(cache.get(ID));
+            cache.put(ID, student(2L));
+        }).join();
+        cache.put(ID, student(1L));
+
+        assertEquals(2L, cache.get(ID, StudentResponseDto.class).getVersion());
+    }
+
+    @Test
+    void whenAPutDoesNotFollowAMissIgnoreIt() {
+        cache.put(ID, student(1L));
+
+        assertNull(cache.get(ID));
+    }
+
+    private static StudentResponseDto student(Long version) {
+        return new StudentResponseDto(ID, "Test", "12345678909", "test@gmail.com", "2024000001", CourseEnum.LAW,
+                true, version);
+    }
+}
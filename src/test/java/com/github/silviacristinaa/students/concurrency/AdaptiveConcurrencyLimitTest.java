@@ -0,0 +1,112 @@
+package com.github.silviacristinaa.students.concurrency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+public class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofMillis(100).toNanos();
+
+    @Test
+    void whenInFlightReachesTheLimitRejectUntilARequestEnds() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+
+        limit.release(FAST, false);
+
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void whenLatencyStaysFlatUnderFullUseGrowTheLimitUpToItsMaximum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 5, 100);
+
+        saturate(limit, 50, FAST);
+
+        assertEquals(100, limit.getLimit());
+    }
+
+    @Test
+    void whenLatencyInflatesShrinkTheLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 5, 100);
+        saturate(limit, 10, FAST);
+
+        saturate(limit, 1, SLOW);
+
+        assertTrue(limit.getLimit() < 50, "limit was " + limit.getLimit());
+    }
+
+    @Test
+    void whenRequestsFailBackOffDownToTheMinimum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 100);
+
+        limit.tryAcquire();
+        limit.release(FAST, true);
+
+        assertEquals((int) (20 * AdaptiveConcurrencyLimit.BACKOFF_RATIO), limit.getLimit());
+
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire();
+            limit.release(FAST, true);
+        }
+
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    void whenARequestFailsDuringAnotherUpdateApplyItsBackoffNextTime() throws InterruptedException {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 100);
+        limit.tryAcquire();
+        limit.tryAcquire();
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread updating = Thread.ofVirtual().start(() -> {
+            limit.update.lock();
+            try {
+                locked.countDown();
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                limit.update.unlock();
+            }
+        });
+        locked.await();
+        limit.release(FAST, true);
+        assertEquals(20, limit.getLimit());
+
+        done.countDown();
+        updating.join();
+        limit.release(FAST, false);
+
+        assertEquals((int) (20 * AdaptiveConcurrencyLimit.BACKOFF_RATIO), limit.getLimit());
+    }
+
+    /**
+     * Fills the limit and then ends every admitted request with the given latency, once per round.
+     */
+    private static void saturate(AdaptiveConcurrencyLimit limit, int rounds, long rttNanos) {
+        for (int round = 0; round < rounds; round++) {
+            int admitted = 0;
+            while (limit.tryAcquire()) {
+                admitted++;
+            }
+            for (int i = 0; i < admitted; i++) {
+                limit.release(rttNanos, false);
+            }
+        }
+    }
+}
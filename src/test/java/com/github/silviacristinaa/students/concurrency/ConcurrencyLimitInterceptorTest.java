@@ -0,0 +1,79 @@
+package com.github.silviacristinaa.students.concurrency;
+
+import com.github.silviacristinaa.students.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+public class ConcurrencyLimitInterceptorTest {
+
+    private static final String STUDENT = "/students/{id}";
+
+    private MeterRegistry meterRegistry;
+    private ConcurrencyLimitInterceptor interceptor;
+    private HandlerMethod handler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new ConcurrencyLimitInterceptor(meterRegistry,
+                new ConcurrencyLimitInterceptor.Limits(1, 1, 10),
+                new ConcurrencyLimitInterceptor.Limits(2, 1, 10),
+                Duration.ofSeconds(3));
+        handler = new HandlerMethod(this, getClass().getDeclaredMethod("setUp"));
+    }
+
+    @Test
+    void whenEndpointIsAtItsLimitRejectWithRetryAfterAndCount() throws Exception {
+        assertTrue(interceptor.preHandle(request("GET"), new MockHttpServletResponse(), handler));
+
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> interceptor.preHandle(request("GET"), new MockHttpServletResponse(), handler));
+
+        assertEquals(3, exception.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("students.concurrency.rejected")
+                .tags("method", "GET", "uri", STUDENT, "operation", "read").counter().count());
+        assertEquals(1.0, meterRegistry.get("students.concurrency.inflight")
+                .tags("operation", "read").gauge().value());
+    }
+
+    @Test
+    void whenReadsAreAtTheirLimitStillAdmitWrites() throws Exception {
+        interceptor.preHandle(request("GET"), new MockHttpServletResponse(), handler);
+
+        assertTrue(interceptor.preHandle(request("PUT"), new MockHttpServletResponse(), handler));
+        assertEquals(2.0, meterRegistry.get("students.concurrency.limit")
+                .tags("method", "PUT", "operation", "write").gauge().value());
+    }
+
+    @Test
+    void whenRequestCompletesFreeItsSlotOnce() throws Exception {
+        MockHttpServletRequest request = request("GET");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, handler);
+
+        interceptor.afterCompletion(request, response, handler, null);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertEquals(0.0, meterRegistry.get("students.concurrency.inflight").gauge().value());
+        assertTrue(interceptor.preHandle(request("GET"), new MockHttpServletResponse(), handler));
+    }
+
+    private static MockHttpServletRequest request(String method) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/students/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, STUDENT);
+        return request;
+    }
+}
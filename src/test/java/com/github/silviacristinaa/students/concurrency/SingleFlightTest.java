@@ -0,0 +1,119 @@
+package com.github.silviacristinaa.students.concurrency;
+
+import com.github.silviacristinaa.students.exceptions.NotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+public class SingleFlightTest {
+
+    private static final int CALLERS = 20;
+
+    private MeterRegistry meterRegistry;
+    private SingleFlight<Long> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>(meterRegistry.counter("calls", "role", "leader"),
+                meterRegistry.counter("calls", "role", "follower"));
+    }
+
+    @Test
+    void whenCallersArriveDuringARunningCallShareTheNextOne() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Object>> results = callConcurrently(() -> {
+            int execution = executions.incrementAndGet();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return execution;
+        }, release);
+
+        List<Object> values = new ArrayList<>(CALLERS);
+        for (Future<Object> result : results) {
+            values.add(result.get());
+        }
+        assertEquals(2, executions.get());
+        assertEquals(1, values.stream().filter(value -> value.equals(1)).count());
+        assertEquals(CALLERS - 1, values.stream().filter(value -> value.equals(2)).count());
+        assertEquals(2.0, counter("leader").count());
+        assertEquals(CALLERS - 2.0, counter("follower").count());
+    }
+
+    @Test
+    void whenTheSharedCallFailsEveryCallerGetsItsException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        NotFoundException notFound = new NotFoundException("Student 1 not found");
+
+        List<Future<Object>> results = callConcurrently(() -> {
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            throw notFound;
+        }, release);
+
+        for (Future<Object> result : results) {
+            ExecutionException exception = assertThrows(ExecutionException.class, result::get);
+            assertSame(notFound, exception.getCause());
+        }
+    }
+
+    @Test
+    void whenACallHasReturnedRunTheNextOneAgain() throws Throwable {
+        AtomicInteger executions = new AtomicInteger();
+
+        singleFlight.execute(1L, executions::incrementAndGet);
+        singleFlight.execute(1L, executions::incrementAndGet);
+        singleFlight.execute(2L, executions::incrementAndGet);
+
+        assertEquals(3, executions.get());
+        assertEquals(0.0, counter("follower").count());
+    }
+
+    /**
+     * Starts every caller on the same key and lets the calls finish once every caller but the two leaders, of the
+     * running call and of the one waiting for it, has joined the waiting call.
+     */
+    private List<Future<Object>> callConcurrently(SingleFlight.Call<Object> call, CountDownLatch release)
+            throws InterruptedException {
+        List<Future<Object>> results = new ArrayList<>(CALLERS);
+        try (ExecutorService executor = Executors.newFixedThreadPool(CALLERS)) {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> {
+                    try {
+                        return singleFlight.execute(1L, call);
+                    } catch (Exception | Error e) {
+                        throw e;
+                    } catch (Throwable throwable) {
+                        throw new IllegalStateException(throwable);
+                    }
+                }));
+            }
+            while (counter("follower").count() < CALLERS - 2) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+        }
+        return results;
+    }
+
+    private Counter counter(String role) {
+        return meterRegistry.get("calls").tag("role", role).counter();
+    }
+}
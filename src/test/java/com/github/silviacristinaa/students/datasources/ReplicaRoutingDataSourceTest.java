@@ -0,0 +1,86 @@
+package com.github.silviacristinaa.students.datasources;
+
+import com.github.silviacristinaa.students.enums.DataSourceEnum;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+public class ReplicaRoutingDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    private DataSource primary;
+    private DataSource replica;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        primary = new DriverManagerDataSource("jdbc:h2:mem:primary", "sa", "");
+        replica = new DriverManagerDataSource("jdbc:h2:mem:replica", "sa", "");
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void whenTransactionIsReadOnlyRouteToReplica() {
+        ReplicaRoutingDataSource routing = routing("select 0");
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(DataSourceEnum.REPLICA, routing.determineCurrentLookupKey());
+        assertEquals(1.0, meterRegistry.get("students.datasource.connections")
+                .tags("target", "replica", "transaction", "read_only").counter().count());
+    }
+
+    @Test
+    void whenTransactionIsReadWriteRouteToPrimary() {
+        ReplicaRoutingDataSource routing = routing("select 0");
+
+        assertEquals(DataSourceEnum.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void whenReplicaLagsTooMuchRouteReadsToPrimary() {
+        ReplicaRoutingDataSource routing = routing("select 10");
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertFalse(routing.isReplicaAvailable());
+        assertEquals(DataSourceEnum.PRIMARY, routing.determineCurrentLookupKey());
+        assertEquals(10.0, meterRegistry.get("students.datasource.replica.lag").gauge().value());
+    }
+
+    @Test
+    void whenLagCheckFailsRouteReadsToPrimary() {
+        ReplicaRoutingDataSource routing = routing("select replay_lag from missing_table");
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertFalse(routing.isReplicaAvailable());
+        assertEquals(DataSourceEnum.PRIMARY, routing.determineCurrentLookupKey());
+        assertEquals(0.0, meterRegistry.get("students.datasource.replica.available").gauge().value());
+    }
+
+    private ReplicaRoutingDataSource routing(String lagQuery) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, meterRegistry, lagQuery,
+                MAX_LAG);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.silviacristinaa.students.datasources;
+
+import com.github.silviacristinaa.students.metrics.RequestStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+public class StatisticsDataSourceTest {
+
+    private StatisticsDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new StatisticsDataSource(new DriverManagerDataSource("jdbc:h2:mem:statistics", "sa", ""),
+                Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestStatistics.end();
+    }
+
+    @Test
+    void whenStatementsRunInsideARequestCountAndTimeThem() {
+        RequestStatistics statistics = RequestStatistics.start(false);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.execute("select 1");
+        assertEquals(2, jdbcTemplate.queryForObject("select ? + 1", Integer.class, 1));
+
+        assertEquals(2, statistics.getStatements());
+        assertTrue(statistics.getJdbcMillis() > 0);
+    }
+
+    @Test
+    void whenStatementsRunOutsideARequestOnlyExecuteThem() {
+        assertEquals(1, new JdbcTemplate(dataSource).queryForObject("select 1", Integer.class));
+        assertNull(RequestStatistics.current());
+    }
+
+    @Test
+    void whenProxiesAreComparedTheyAreEqualOnlyToThemselves() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select 1")) {
+            assertEquals(connection, connection);
+            assertEquals(statement, statement);
+            assertNotEquals(statement, connection.prepareStatement("select 1"));
+            assertSame(connection, statement.getConnection());
+        }
+    }
+
+    @Test
+    void whenSqlIsRedactedReplaceLiteralsButKeepIdentifiers() {
+        assertEquals("select s1_0.id from student s1_0 where s1_0.cpf=? and s1_0.version=? fetch first ? rows only",
+                StatisticsDataSource.redact("select s1_0.id\n  from student s1_0 where s1_0.cpf='123''45' "
+                        + "and s1_0.version=10 fetch first ? rows only"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.silviacristinaa.students.enums;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UniqueKeyEnumTest {
+
+    @Test
+    void whenPostgresViolatesUniqueConstraintReturnItsKey() {
+        assertEquals(Optional.of(UniqueKeyEnum.CPF), UniqueKeyEnum.of(violation(
+                "ERROR: duplicate key value violates unique constraint \"student_cpf_key\"\n"
+                        + "  Detail: Key (cpf)=(12345678909) already exists.", "student_cpf_key")));
+        assertEquals(Optional.of(UniqueKeyEnum.EMAIL), UniqueKeyEnum.of(violation(
+                "ERROR: duplicate key value violates unique constraint \"student_email_key\"\n"
+                        + "  Detail: Key (email)=(cpf@gmail.com) already exists.", "student_email_key")));
+    }
+
+    @Test
+    void whenH2ViolatesUniqueIndexReturnItsKey() {
+        assertEquals(Optional.of(UniqueKeyEnum.EMAIL), UniqueKeyEnum.of(violation(
+                "Unique index or primary key violation: \"PUBLIC.CONSTRAINT_INDEX_B ON PUBLIC.STUDENT(EMAIL NULLS "
+                        + "FIRST) VALUES ( /* 2 */ 'cpf@gmail.com' )\"", "PUBLIC.CONSTRAINT_INDEX_B")));
+    }
+
+    @Test
+    void whenViolationIsNotUniqueReturnEmpty() {
+        DataIntegrityViolationException notNull = new DataIntegrityViolationException("null cpf",
+                new ConstraintViolationException("null cpf", new SQLException("NULL not allowed for column \"CPF\""),
+                        null, ConstraintViolationException.ConstraintKind.OTHER, null));
+
+        assertTrue(UniqueKeyEnum.of(notNull).isEmpty());
+        assertTrue(UniqueKeyEnum.of(new IllegalStateException()).isEmpty());
+    }
+
+    private static DataIntegrityViolationException violation(String message, String constraint) {
+        return new DataIntegrityViolationException(message, new ConstraintViolationException(message,
+                new SQLException(message), null, ConstraintViolationException.ConstraintKind.UNIQUE, constraint));
+    }
+}
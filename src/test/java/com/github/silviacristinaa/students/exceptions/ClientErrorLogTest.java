@@ -0,0 +1,72 @@
+package com.github.silviacristinaa.students.exceptions;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.slf4j.Logger;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class ClientErrorLogTest {
+
+    private static final String LOG_MSG = "e={},m={},s={},count={}";
+    private static final String NOT_FOUND = "Student 1 not found";
+
+    @Mock
+    private Logger log;
+
+    @BeforeEach
+    void setUp() {
+        when(log.isWarnEnabled()).thenReturn(true);
+    }
+
+    @Test
+    void whenTheSameErrorRepeatsWithinTheIntervalLogItOnceAndCountTheRest() {
+        ClientErrorLog clientErrorLog = new ClientErrorLog(log, Duration.ofHours(1));
+
+        for (int i = 0; i < 5; i++) {
+            clientErrorLog.log(HttpStatus.NOT_FOUND, new NotFoundException(NOT_FOUND));
+        }
+        clientErrorLog.log(HttpStatus.CONFLICT, new ConflictException("CPF already registered in the system"));
+
+        verify(log).warn(LOG_MSG, "NotFoundException", NOT_FOUND, 404, 1L);
+        verify(log).warn(LOG_MSG, "ConflictException", "CPF already registered in the system", 409, 1L);
+        verifyNoMoreInteractions(ignoreStubs(log));
+    }
+
+    @Test
+    void whenTheIntervalHasPassedLogTheErrorsCountedSinceTheLastLine() {
+        ClientErrorLog clientErrorLog = new ClientErrorLog(log, Duration.ZERO);
+
+        clientErrorLog.log(HttpStatus.NOT_FOUND, new NotFoundException(NOT_FOUND));
+        clientErrorLog.log(HttpStatus.NOT_FOUND, new NotFoundException(NOT_FOUND));
+
+        verify(log, times(2)).warn(LOG_MSG, "NotFoundException", NOT_FOUND, 404, 1L);
+    }
+
+    @Test
+    void whenWarnIsDisabledLogNothing() {
+        when(log.isWarnEnabled()).thenReturn(false);
+        ClientErrorLog clientErrorLog = new ClientErrorLog(log, Duration.ZERO);
+
+        clientErrorLog.log(HttpStatus.NOT_FOUND, new NotFoundException(NOT_FOUND));
+
+        verifyNoMoreInteractions(ignoreStubs(log));
+    }
+
+    @Test
+    void whenADomainExceptionIsCreatedDoNotFillInItsStackTrace() {
+        assertEquals(0, new NotFoundException(NOT_FOUND).getStackTrace().length);
+        assertEquals(0, new ConflictException(NOT_FOUND).getStackTrace().length);
+        assertEquals(0, new PreconditionFailedException(NOT_FOUND).getStackTrace().length);
+        assertEquals(0, new BadRequestException(NOT_FOUND).getStackTrace().length);
+        assertEquals(0, new ServiceUnavailableException(NOT_FOUND, 1).getStackTrace().length);
+    }
+}
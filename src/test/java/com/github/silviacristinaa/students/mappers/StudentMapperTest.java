@@ -0,0 +1,116 @@
+package com.github.silviacristinaa.students.mappers;
+
+import com.github.silviacristinaa.students.dtos.requests.StudentRequestDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentResponseDto;
+import com.github.silviacristinaa.students.entities.Student;
+import com.github.silviacristinaa.students.enums.CourseEnum;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StudentMapperTest {
+
+    /**
+     * Student columns that are deliberately not returned to clients.
+     */
+    private static final Set<String> NOT_EXPOSED = Set.of("changeSeq", "updatedAt");
+
+    /**
+     * Student columns that are never taken from a request.
+     */
+    private static final Set<String> NOT_REQUESTED = Set.of("id", "registration", "version", "changeSeq",
+            "updatedAt");
+
+    private static final long ID = 1L;
+    private static final String NAME = "Test";
+    private static final String CPF = "12345678909";
+    private static final String EMAIL = "test@gmail.com";
+    private static final String REGISTRATION = "20259212";
+    private static final Long VERSION = 2L;
+
+    private final StudentMapper studentMapper = new StudentMapperImpl();
+
+    @Test
+    void whenStudentHasFieldsThenResponseDtoHasTheSameFields() {
+        Map<String, Class<?>> responseFields = fields(StudentResponseDto.class);
+
+        fields(Student.class).forEach((name, type) -> {
+            if (!NOT_EXPOSED.contains(name)) {
+                assertEquals(type, responseFields.get(name), "StudentResponseDto does not map Student." + name);
+            }
+        });
+    }
+
+    @Test
+    void whenStudentHasFieldsThenRequestDtoCoversTheWritableOnes() {
+        Map<String, Class<?>> requestFields = fields(StudentRequestDto.class);
+
+        fields(Student.class).forEach((name, type) -> {
+            if (!NOT_REQUESTED.contains(name)) {
+                assertEquals(type, requestFields.get(name), "StudentRequestDto does not map Student." + name);
+            }
+        });
+    }
+
+    @Test
+    void whenMapToResponseDtoCopyEveryField() throws IllegalAccessException {
+        Student student = new Student(ID, NAME, CPF, EMAIL, REGISTRATION, CourseEnum.LAW, true, VERSION, null, null);
+
+        StudentResponseDto response = studentMapper.toResponseDto(student);
+
+        for (Field field : StudentResponseDto.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            Field source = Arrays.stream(Student.class.getDeclaredFields())
+                    .filter(f -> f.getName().equals(field.getName())).findFirst().orElseThrow();
+            field.setAccessible(true);
+            source.setAccessible(true);
+            assertEquals(source.get(student), field.get(response), field.getName());
+        }
+    }
+
+    @Test
+    void whenMapToEntityLeaveGeneratedFieldsEmpty() {
+        Student student = studentMapper.toEntity(new StudentRequestDto(NAME, CPF, EMAIL, CourseEnum.LAW, true));
+
+        assertNull(student.getId());
+        assertNull(student.getRegistration());
+        assertNull(student.getVersion());
+        assertEquals(NAME, student.getName());
+        assertEquals(CPF, student.getCpf());
+        assertEquals(EMAIL, student.getEmail());
+        assertEquals(CourseEnum.LAW, student.getCourse());
+        assertTrue(student.isActive());
+    }
+
+    @Test
+    void whenUpdateEntityKeepIdRegistrationAndVersion() {
+        Student student = new Student(ID, NAME, CPF, EMAIL, REGISTRATION, CourseEnum.LAW, true, VERSION, null, null);
+
+        studentMapper.updateEntity(new StudentRequestDto("Other", "34362506276", "other@gmail.com",
+                CourseEnum.MEDICINE, false), student);
+
+        assertEquals(ID, student.getId());
+        assertEquals(REGISTRATION, student.getRegistration());
+        assertEquals(VERSION, student.getVersion());
+        assertEquals("Other", student.getName());
+        assertEquals("34362506276", student.getCpf());
+        assertEquals("other@gmail.com", student.getEmail());
+        assertEquals(CourseEnum.MEDICINE, student.getCourse());
+        assertFalse(student.isActive());
+    }
+
+    private static Map<String, Class<?>> fields(Class<?> type) {
+        return Arrays.stream(type.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                .collect(Collectors.toMap(Field::getName, Field::getType));
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.silviacristinaa.students.resources.integrations;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL Hibernate prepares on the current thread while {@link #capture(Runnable)} runs, so tests can
+ * check what the repositories actually send rather than a hand-written copy of it.
+ */
+public class StatementCapture implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    public static List<String> capture(Runnable work) {
+        List<String> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            work.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        return statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = CAPTURED.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,58 @@
+package com.github.silviacristinaa.students.resources.studentIntegration;
+
+import com.github.silviacristinaa.students.dtos.requests.StudentRequestDto;
+import com.github.silviacristinaa.students.enums.CourseEnum;
+import com.github.silviacristinaa.students.resources.integrations.IntegrationTests;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replicadb",
+        "students.datasource.replica.enabled=true",
+        "students.datasource.replica.url=jdbc:h2:mem:replicadb"})
+public class StudentReplicaCacheIntegrationTest extends IntegrationTests {
+
+    private String studentId;
+
+    @Test
+    @Order(1)
+    public void whenCreateStudentReturnCreated() throws Exception {
+        mvc.perform(post("/students").headers(mockHttpHeaders())
+                        .content(objectMapper.writeValueAsString(new StudentRequestDto("Replica", "52998224725",
+                                "replica@gmail.com", CourseEnum.LAW, true))))
+                .andExpect(status().isCreated())
+                .andDo(i -> studentId = getIdByLocation(i.getResponse().getHeader("Location")));
+    }
+
+    @Test
+    @Order(2)
+    public void whenReadsGoToTheReplicaFindByIdStillHitsTheCache() throws Exception {
+        mvc.perform(get("/students").headers(mockHttpHeaders()))
+                .andExpect(status().isOk());
+        mvc.perform(get("/actuator/metrics/students.datasource.connections").param("tag", "target:replica"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("measurements[0].value", greaterThan(0.0)));
+
+        mvc.perform(get("/students/{id}", studentId).headers(mockHttpHeaders()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name", is("Replica")));
+        mvc.perform(get("/students/{id}", studentId).headers(mockHttpHeaders()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", containsString("statements=0 entities=0")));
+
+        mvc.perform(get("/actuator/metrics/cache.gets").param("tag", "cache:students")
+                        .param("tag", "result:hit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("measurements[0].value", is(1.0)));
+    }
+}
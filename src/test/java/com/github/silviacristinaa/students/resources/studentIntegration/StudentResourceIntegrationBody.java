@@ -1,9 +1,12 @@
 package com.github.silviacristinaa.students.resources.studentIntegration;
 
+import com.github.silviacristinaa.students.dtos.requests.StudentBatchRequestDto;
 import com.github.silviacristinaa.students.dtos.requests.StudentRequestDto;
 import com.github.silviacristinaa.students.dtos.requests.StudentStatusRequestDto;
 import com.github.silviacristinaa.students.enums.CourseEnum;
 
+import java.util.List;
+
 public class StudentResourceIntegrationBody {
 
     public static StudentRequestDto studentException() {
@@ -23,4 +26,28 @@ public class StudentResourceIntegrationBody {
     public static StudentStatusRequestDto updateStudentStatus() {
         return new StudentStatusRequestDto(false);
     }
+
+    public static StudentBatchRequestDto studentBatch() {
+        return new StudentBatchRequestDto(List.of(
+                new StudentRequestDto("Batch", "11122233396", "batch@gmail.com", CourseEnum.MEDICINE, true),
+                new StudentRequestDto("Batch", "11122233396", "batch2@gmail.com", CourseEnum.MEDICINE, true),
+                new StudentRequestDto("Batch", "22233344405", "test1@gmail.com", CourseEnum.LAW, true)));
+    }
+
+    public static StudentBatchRequestDto studentBatchException() {
+        return new StudentBatchRequestDto(List.of(studentException()));
+    }
+
+    public static String studentCsv() {
+        return String.join("\n",
+                "name,cpf,email,course,active",
+                "\"Import, First\",33344455508,import1@gmail.com,SOFTWARE_ENGINEERING,true",
+                "Import Second,44455566619,import2@gmail.com,LAW,false",
+                "Invalid Cpf,12345678900,import3@gmail.com,LAW,true",
+                "Duplicated Cpf,33344455508,import4@gmail.com,LAW,true",
+                "Registered Email,55566677720,test1@gmail.com,LAW,true",
+                "Invalid Course,66677788830,import5@gmail.com,ARTS,true",
+                "\"Multiline\nName\",77788899941,import6@gmail.com,LAW,true",
+                "\"Unclosed,88899900078,import7@gmail.com,LAW,true");
+    }
 }
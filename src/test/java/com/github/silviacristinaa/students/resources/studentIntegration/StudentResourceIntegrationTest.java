@@ -1,21 +1,46 @@
 package com.github.silviacristinaa.students.resources.studentIntegration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.silviacristinaa.students.dtos.requests.StudentBulkStatusRequestDto;
+import com.github.silviacristinaa.students.dtos.requests.StudentRequestDto;
+import com.github.silviacristinaa.students.dtos.requests.StudentSearchRequestDto;
+import com.github.silviacristinaa.students.dtos.requests.StudentStatusRequestDto;
 import com.github.silviacristinaa.students.entities.Student;
 import com.github.silviacristinaa.students.enums.CourseEnum;
 import com.github.silviacristinaa.students.repositories.StudentRepository;
+import com.github.silviacristinaa.students.repositories.StudentSearchRepository;
 import com.github.silviacristinaa.students.resources.integrations.IntegrationTests;
+import com.github.silviacristinaa.students.resources.integrations.StatementCapture;
+import com.github.silviacristinaa.students.services.StudentChangeService;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.Matchers.matchesPattern;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 public class StudentResourceIntegrationTest extends IntegrationTests {
 
@@ -26,6 +51,8 @@ public class StudentResourceIntegrationTest extends IntegrationTests {
     private static final String NAME = "Test";
     private static final String CPF = "12345678909";
     private static final String EMAIL = "test@gmail.com";
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final Pageable SEARCH_PAGE = PageRequest.of(0, 20, Sort.by("name", "id"));
 
     private String studentId;
     private Long studentUpdateId;
@@ -33,6 +60,15 @@ public class StudentResourceIntegrationTest extends IntegrationTests {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentChangeService studentChangeService;
+
+    @Autowired
+    private StudentSearchRepository studentSearchRepository;
+
     @Test
     @Order(1)
     public void whenTryCreateStudentWithInvalidFieldsReturnBadRequestException() throws Exception {
@@ -165,7 +201,7 @@ public class StudentResourceIntegrationTest extends IntegrationTests {
     @Order(12)
     public void whenTryUpdateStudentWithAlreadyExistingCpfReturnConflictException() throws Exception {
         Student student = studentRepository.save(new Student(null, NAME, "34362506276",
-                "test1@gmail.com", "20259212", CourseEnum.LAW, true));
+                "test1@gmail.com", "20259212", CourseEnum.LAW, true, null, null, null));
 
         studentUpdateId = student.getId();
 
@@ -225,4 +261,410 @@ public class StudentResourceIntegrationTest extends IntegrationTests {
         Optional<Student> student = studentRepository.findById(Long.valueOf(studentId));
         assertFalse(student.isPresent());
     }
+
+    @Test
+    @Order(17)
+    public void whenCreateStudentsInBatchReturnItemStatus() throws Exception {
+        mvc.perform(post("/students/batch").headers(mockHttpHeaders())
+                        .content(objectMapper.writeValueAsString(
+                                StudentResourceIntegrationBody.studentBatch())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("created", is(1)))
+                .andExpect(jsonPath("conflicts", is(2)))
+                .andExpect(jsonPath("items[0].status", is("CREATED")))
+                .andExpect(jsonPath("items[0].id", notNullValue()))
+                .andExpect(jsonPath("items[1].status", is("CONFLICT")))
+                .andExpect(jsonPath("items[1].error", is("CPF already registered in the system")))
+                .andExpect(jsonPath("items[2].status", is("CONFLICT")))
+                .andExpect(jsonPath("items[2].error", is("Email already registered in the system")));
+
+        assertTrue(studentRepository.findByCpf("11122233396").isPresent());
+        assertFalse(studentRepository.findByCpf("22233344405").isPresent());
+    }
+
+    @Test
+    @Order(18)
+    public void whenTryCreateStudentsInBatchWithInvalidFieldsReturnBadRequestException() throws Exception {
+        mvc.perform(post("/students/batch").headers(mockHttpHeaders())
+                        .content(objectMapper.writeValueAsString(
+                                StudentResourceIntegrationBody.studentBatchException())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("message", is("Arguments not valid")));
+    }
+
+    @Test
+    @Order(19)
+    public void whenFindAllByCursorReturnPagesInKeyOrder() throws Exception {
+        String next = JsonPath.read(mvc.perform(get("/students").param("after", "").param("size", "1")
+                                .param("orderBy", "NAME").headers(mockHttpHeaders()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("size", is(1)))
+                .andExpect(jsonPath("content[0].name", is("Batch")))
+                .andExpect(jsonPath("next", notNullValue()))
+                .andReturn().getResponse().getContentAsString(), "next");
+
+        mvc.perform(get("/students").param("after", next).param("size", "1")
+                        .param("orderBy", "NAME").headers(mockHttpHeaders()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("content[0].name", is(NAME)))
+                .andExpect(jsonPath("next").doesNotExist());
+
+        // A page after the first is one range scan of the name index, read in order without a sort
+        List<String> statements = StatementCapture.capture(() ->
+                studentRepository.findResponsesAfterNameAndId("Batch", 1L, Limit.of(2)));
+        String plan = jdbcTemplate.queryForObject("explain " + statements.getFirst(), String.class,
+                "Batch", "Batch", 1L, 2);
+        assertTrue(plan.contains("IDX_STUDENT_NAME_ID: NAME >= ?1"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    @Order(20)
+    public void whenTryFindAllByCursorWithInvalidCursorReturnBadRequestException() throws Exception {
+        mvc.perform(get("/students").param("after", "invalid").headers(mockHttpHeaders()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("message", is("Arguments not valid")))
+                .andExpect(jsonPath("errors.[0]", is("Invalid cursor")));
+    }
+
+    @Test
+    @Order(21)
+    public void whenExportWithCourseFilterReturnNdjson() throws Exception {
+        MvcResult result = mvc.perform(get("/students/export").param("course", "LAW"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String[] lines = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString().split("\n");
+
+        assertEquals(1, lines.length);
+        assertEquals(NAME, objectMapper.readTree(lines[0]).get("name").asText());
+        assertEquals("LAW", objectMapper.readTree(lines[0]).get("course").asText());
+    }
+
+    @Test
+    @Order(22)
+    public void whenImportCsvReturnImportedAndRejectedRows() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "students.csv", "text/csv",
+                StudentResourceIntegrationBody.studentCsv().getBytes());
+
+        mvc.perform(multipart("/students/import").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("rows", is(8)))
+                .andExpect(jsonPath("imported", is(3)))
+                .andExpect(jsonPath("rejected", is(5)))
+                .andExpect(jsonPath("rowsPerSecond", notNullValue()))
+                .andExpect(jsonPath("errors[0].line", is(4)))
+                .andExpect(jsonPath("errors[0].errors[0]", is("cpf: The CPF must be valid")))
+                .andExpect(jsonPath("errors[1].errors[0]", is("CPF duplicated in the file")))
+                .andExpect(jsonPath("errors[2].errors[0]", is("Email already registered in the system")))
+                .andExpect(jsonPath("errors[3].line", is(7)))
+                .andExpect(jsonPath("errors[4].line", is(10)))
+                .andExpect(jsonPath("errors[4].errors[0]",
+                        is("A quoted field is not closed before the end of the file")));
+
+        assertEquals("Import, First", studentRepository.findByCpf("33344455508").orElseThrow().getName());
+        assertEquals("Multiline\nName", studentRepository.findByCpf("77788899941").orElseThrow().getName());
+        assertTrue(studentRepository.findByCpf("44455566619").isPresent());
+    }
+
+    @Test
+    @Order(23)
+    public void whenTryImportCsvWithoutHeaderReturnBadRequestException() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "students.csv", "text/csv",
+                "Test,12345678909,test@gmail.com,LAW,true".getBytes());
+
+        mvc.perform(multipart("/students/import").file(file))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("message", is("Arguments not valid")));
+    }
+
+    @Test
+    @Order(24)
+    public void whenUpdateStudentStatusAfterFindByIdReturnUpdatedStudent() throws Exception {
+        mvc.perform(get("/students/{id}", studentUpdateId).headers(mockHttpHeaders()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("active", is(true)));
+
+        mvc.perform(patch("/students/{id}", studentUpdateId).headers(mockHttpHeaders())
+                        .content(objectMapper.writeValueAsString(
+                                StudentResourceIntegrationBody.updateStudentStatus())))
+                .andExpect(status().isNoContent());
+
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(get("/students/{id}", studentUpdateId).headers(mockHttpHeaders()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("active", is(false)));
+        }
+
+        mvc.perform(get("/actuator/metrics/cache.gets").param("tag", "cache:students")
+                        .param("tag", "result:hit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("measurements[0].value", is(1.0)));
+    }
+
+    @Test
+    @Order(25)
+    public void whenCheckAvailabilityReturnCpfTakenAndEmailFree() throws Exception {
+        mvc.perform(get("/students/availability").param("cpf", "33344455508")
+                        .param("email", "free@gmail.com").headers(mockHttpHeaders()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("cpfAvailable", is(false)))
+                .andExpect(jsonPath("emailAvailable", is(true)));
+
+        mvc.perform(get("/students/availability").param("cpf", CPF).headers(mockHttpHeaders()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("cpfAvailable", is(true)))
+                .andExpect(jsonPath("emailAvailable").doesNotExist());
+    }
+
+    @Test
+    @Order(26)
+    public void whenServiceAndEndpointAreCalledRecordTimersByOutcome() throws Exception {
+        mvc.perform(get("/actuator/metrics/students.service").param("tag", "service:StudentServiceImpl")
+                        .param("tag", "method:findOneStudentById").param("tag", "outcome:not_found"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("measurements[0].value", is(1.0)));
+
+        mvc.perform(get("/actuator/metrics/http.server.requests").param("tag", "uri:/students")
+                        .param("tag", "method:POST").param("tag", "result:conflict"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("measurements[0].value", is(2.0)));
+    }
+
+    @Test
+    @Order(27)
+    public void whenSearchWithFiltersReturnMatchingStudentsOrderedByName() throws Exception {
+        mvc.perform(get("/students/search").param("course", "LAW").param("active", "false")
+                        .headers(mockHttpHeaders()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("totalElements", is(2)))
+                .andExpect(jsonPath("content[0].name", is("Import Second")))
+                .andExpect(jsonPath("content[1].name", is(NAME)));
+
+        mvc.perform(get("/students/search").param("name", "Import").param("size", "1")
+                        .headers(mockHttpHeaders()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("totalElements", is(2)))
+                .andExpect(jsonPath("content[0].name", is("Import Second")));
+
+        String registration = studentRepository.findByCpf("33344455508").orElseThrow().getRegistration();
+        mvc.perform(get("/students/search").param("registration", registration).headers(mockHttpHeaders()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("totalElements", is(1)))
+                .andExpect(jsonPath("content[0].cpf", is("33344455508")));
+    }
+
+    @Test
+    @Order(28)
+    public void whenSearchFiltersAreExplainedUseIndexes() {
+        assertTrue(explainSearch(new StudentSearchRequestDto(CourseEnum.MEDICINE, true, null, null),
+                CourseEnum.MEDICINE.name(), true).contains("IDX_STUDENT_COURSE_ACTIVE_NAME"));
+        assertTrue(explainSearch(new StudentSearchRequestDto(null, null, "Imp", null), "Imp%")
+                .contains("IDX_STUDENT_NAME_ID"));
+
+        String registrationIndex = jdbcTemplate.queryForObject("select index_name "
+                + "from information_schema.index_columns "
+                + "where table_name = 'STUDENT' and column_name = 'REGISTRATION' and is_unique", String.class);
+        assertTrue(explainSearch(new StudentSearchRequestDto(null, null, null, "ABC12345"), "ABC12345")
+                .contains(registrationIndex));
+    }
+
+    @Test
+    @Order(29)
+    public void whenSearchByMisspelledNameReturnMostSimilarFirst() throws Exception {
+        mvc.perform(get("/students/search/name").param("name", "Imprt Secnd").headers(mockHttpHeaders()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("[0].name", is("Import Second")))
+                .andExpect(jsonPath("[0].similarity", notNullValue()))
+                .andExpect(jsonPath("[1]").doesNotExist());
+
+        mvc.perform(get("/students/search/name").param("size", "0").headers(mockHttpHeaders()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(30)
+    public void whenSendETagsReturnNotModifiedOrPreconditionFailed() throws Exception {
+        String eTag = mvc.perform(get("/students/{id}", studentUpdateId).headers(mockHttpHeaders()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/students/{id}", studentUpdateId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mvc.perform(patch("/students/{id}", studentUpdateId).headers(mockHttpHeaders())
+                        .header(HttpHeaders.IF_MATCH, "\"999\"")
+                        .content(objectMapper.writeValueAsString(new StudentStatusRequestDto(true))))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("message", is("Precondition failed")));
+
+        mvc.perform(patch("/students/{id}", studentUpdateId).headers(mockHttpHeaders())
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .content(objectMapper.writeValueAsString(new StudentStatusRequestDto(true))))
+                .andExpect(status().isNoContent());
+
+        mvc.perform(get("/students/{id}", studentUpdateId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("active", is(true)));
+
+        mvc.perform(put("/students/{id}", studentUpdateId).headers(mockHttpHeaders())
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .content(objectMapper.writeValueAsString(
+                                StudentResourceIntegrationBody.studentSuccess())))
+                .andExpect(status().isPreconditionFailed());
+
+        String pageETag = mvc.perform(get("/students").headers(mockHttpHeaders()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/students").header(HttpHeaders.IF_NONE_MATCH, pageETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @Order(31)
+    public void whenUpdateStudentsStatusInBulkReturnAffectedAndMissingIdsAndEvictCache() throws Exception {
+        String eTag = mvc.perform(get("/students/{id}", studentUpdateId).headers(mockHttpHeaders()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("active", is(true)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(patch("/students/status").headers(mockHttpHeaders())
+                        .content(objectMapper.writeValueAsString(new StudentBulkStatusRequestDto(
+                                List.of(studentUpdateId, 999999L), null, null, false))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("updated", is(1)))
+                .andExpect(jsonPath("affected[0]", is(studentUpdateId.intValue())))
+                .andExpect(jsonPath("missing[0]", is(999999)));
+
+        mvc.perform(get("/students/{id}", studentUpdateId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("active", is(false)));
+
+        CourseEnum course = studentRepository.findById(studentUpdateId).orElseThrow().getCourse();
+        mvc.perform(patch("/students/status").headers(mockHttpHeaders())
+                        .content(objectMapper.writeValueAsString(new StudentBulkStatusRequestDto(
+                                null, course, false, true))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("affected", hasItem(studentUpdateId.intValue())));
+
+        mvc.perform(get("/students/{id}", studentUpdateId).headers(mockHttpHeaders()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("active", is(true)));
+
+        mvc.perform(patch("/students/status").headers(mockHttpHeaders())
+                        .content(objectMapper.writeValueAsString(new StudentBulkStatusRequestDto(
+                                List.of(studentUpdateId), course, null, false))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(32)
+    public void whenStudentsChangeReturnOnlyTheChangesSinceTheToken() throws Exception {
+        studentChangeService.sequence();
+        String since = null;
+        int size;
+        do {
+            MvcResult result = mvc.perform(get("/students/changes").headers(mockHttpHeaders())
+                            .param("since", since).param("limit", "1000"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            since = JsonPath.read(result.getResponse().getContentAsString(), "next");
+            size = JsonPath.read(result.getResponse().getContentAsString(), "size");
+        } while (size > 0);
+
+        String created = getIdByLocation(mvc.perform(post("/students").headers(mockHttpHeaders())
+                        .content(objectMapper.writeValueAsString(new StudentRequestDto("Changes", "55566677720",
+                                "changes@gmail.com", CourseEnum.LAW, true))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader("Location"));
+
+        mvc.perform(patch("/students/{id}", studentUpdateId).headers(mockHttpHeaders())
+                        .content(objectMapper.writeValueAsString(new StudentStatusRequestDto(false))))
+                .andExpect(status().isNoContent());
+
+        mvc.perform(delete("/students/{id}", created).headers(mockHttpHeaders()))
+                .andExpect(status().isNoContent());
+
+        studentChangeService.sequence();
+
+        mvc.perform(get("/students/changes").headers(mockHttpHeaders()).param("since", since))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("size", is(2)))
+                .andExpect(jsonPath("content[0].type", is("UPSERT")))
+                .andExpect(jsonPath("content[0].id", is(studentUpdateId.intValue())))
+                .andExpect(jsonPath("content[0].student.active", is(false)))
+                .andExpect(jsonPath("content[1].type", is("DELETE")))
+                .andExpect(jsonPath("content[1].id", is(Integer.valueOf(created))))
+                .andExpect(jsonPath("content[1].student").doesNotExist());
+
+        mvc.perform(get("/students/changes").headers(mockHttpHeaders()).param("since", "%%%"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(33)
+    public void whenAcceptBinaryFormatsReturnTheSameStudentEncodedAccordingly() throws Exception {
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+        ObjectMapper smile = new ObjectMapper(new SmileFactory());
+
+        byte[] json = mvc.perform(get("/students/{id}", studentUpdateId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        byte[] encoded = mvc.perform(get("/students/{id}", studentUpdateId).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(objectMapper.readTree(json), cbor.readTree(encoded));
+        assertTrue(encoded.length < json.length);
+
+        byte[] page = mvc.perform(get("/students").accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertTrue(smile.readTree(page).get("content").isArray());
+
+        mvc.perform(post("/students").contentType(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(new StudentRequestDto("Binary", "66677788830",
+                                "binary@gmail.com", CourseEnum.LAW, true))))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @Order(34)
+    public void whenRequestRunsStatementsReturnItsDatabaseStatisticsInServerTiming() throws Exception {
+        mvc.perform(get("/students").headers(mockHttpHeaders()).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing",
+                        matchesPattern("db;dur=\\d+\\.\\d{3};desc=\"statements=2 entities=0\"")));
+
+        mvc.perform(get("/students").headers(mockHttpHeaders()).param("after", "").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", containsString("statements=1 entities=0")));
+
+        mvc.perform(patch("/students/{id}", studentUpdateId).headers(mockHttpHeaders())
+                        .content(objectMapper.writeValueAsString(new StudentStatusRequestDto(true))))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("Server-Timing", containsString("statements=1 entities=0")));
+    }
+
+    /**
+     * Plans the statement StudentSearchRepository sends for the filter, bound with the given filter values and the
+     * page; H2 names the chosen index in a comment.
+     */
+    private String explainSearch(StudentSearchRequestDto filter, Object... values) {
+        List<String> statements = StatementCapture.capture(() -> studentSearchRepository.search(filter, SEARCH_PAGE));
+        Object[] binds = Stream.concat(Arrays.stream(values),
+                Stream.of(SEARCH_PAGE.getOffset(), SEARCH_PAGE.getPageSize())).toArray();
+        return jdbcTemplate.queryForObject("explain " + statements.getFirst(), String.class, binds);
+    }
 }
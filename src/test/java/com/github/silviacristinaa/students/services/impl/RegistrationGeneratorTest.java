@@ -0,0 +1,87 @@
+package com.github.silviacristinaa.students.services.impl;
+
+import com.github.silviacristinaa.students.repositories.RegistrationSequenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static com.github.silviacristinaa.students.repositories.RegistrationSequenceRepository.BLOCK_SIZE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class RegistrationGeneratorTest {
+
+    private static final String LEGACY_FORMAT = "[0-9A-F]{8}";
+
+    @InjectMocks
+    private RegistrationGenerator registrationGenerator;
+
+    @Mock
+    private RegistrationSequenceRepository registrationSequenceRepository;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        when(registrationSequenceRepository.nextBlock()).thenAnswer(invocation -> sequence.getAndAdd(BLOCK_SIZE));
+    }
+
+    @Test
+    void whenNextThenReserveOneBlockPerBlockSizeRegistrations() {
+        assertEquals("G0000000", registrationGenerator.next());
+        for (int i = 1; i < BLOCK_SIZE; i++) {
+            registrationGenerator.next();
+        }
+        verify(registrationSequenceRepository, times(1)).nextBlock();
+
+        assertEquals("G00000RS", registrationGenerator.next());
+        verify(registrationSequenceRepository, times(2)).nextBlock();
+    }
+
+    @Test
+    void whenFormatThenKeepEightCharactersDisjointFromLegacyRegistrations() {
+        assertEquals("G0000000", RegistrationGenerator.format(0));
+        assertEquals("G0000010", RegistrationGenerator.format(36));
+        assertEquals("ZZZZZZZZ", RegistrationGenerator.format(RegistrationGenerator.CAPACITY - 1));
+        assertFalse(RegistrationGenerator.format(0).matches(LEGACY_FORMAT));
+        assertFalse(RegistrationGenerator.format(RegistrationGenerator.CAPACITY - 1).matches(LEGACY_FORMAT));
+
+        assertThrows(IllegalStateException.class, () -> RegistrationGenerator.format(RegistrationGenerator.CAPACITY));
+    }
+
+    @Test
+    void whenNextConcurrentlyThenNeverRepeatRegistrations() throws Exception {
+        int threads = 8;
+        int perThread = 5 * BLOCK_SIZE;
+        Set<String> registrations = ConcurrentHashMap.newKeySet();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = IntStream.range(0, threads)
+                    .<Future<?>>mapToObj(thread -> executor.submit(() -> {
+                        for (int i = 0; i < perThread; i++) {
+                            registrations.add(registrationGenerator.next());
+                        }
+                    }))
+                    .toList();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertEquals(threads * perThread, registrations.size());
+        verify(registrationSequenceRepository, times(threads * perThread / BLOCK_SIZE)).nextBlock();
+    }
+}
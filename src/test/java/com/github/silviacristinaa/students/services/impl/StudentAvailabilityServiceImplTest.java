@@ -0,0 +1,144 @@
+package com.github.silviacristinaa.students.services.impl;
+
+import com.github.silviacristinaa.students.dtos.responses.StudentAvailabilityResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentChangeResponseDto;
+import com.github.silviacristinaa.students.enums.CourseEnum;
+import com.github.silviacristinaa.students.exceptions.BadRequestException;
+import com.github.silviacristinaa.students.repositories.StudentRepository;
+import com.github.silviacristinaa.students.repositories.projections.StudentKeysProjection;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class StudentAvailabilityServiceImplTest {
+
+    private static final String CPF = "12345678909";
+    private static final String EMAIL = "test@gmail.com";
+    private static final String FREE_CPF = "34362506276";
+    private static final String FREE_EMAIL = "free@gmail.com";
+
+    private StudentAvailabilityServiceImpl studentAvailabilityServiceImpl;
+
+    private MeterRegistry meterRegistry;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        studentAvailabilityServiceImpl = new StudentAvailabilityServiceImpl(studentRepository, transactionManager,
+                meterRegistry, 0.01, 1000);
+    }
+
+    @Test
+    void whenFiltersAreNotBuiltFallBackToDatabase() throws BadRequestException {
+        when(studentRepository.existsByCpf(CPF)).thenReturn(true);
+
+        StudentAvailabilityResponseDto response = studentAvailabilityServiceImpl.check(CPF, null);
+
+        assertFalse(response.getCpfAvailable());
+        assertNull(response.getEmailAvailable());
+        verify(studentRepository, times(1)).existsByCpf(CPF);
+    }
+
+    @Test
+    void whenValueIsNotInFilterReturnAvailableWithoutDatabaseLookup() throws BadRequestException {
+        buildWith(CPF, EMAIL);
+
+        StudentAvailabilityResponseDto response = studentAvailabilityServiceImpl.check(FREE_CPF, FREE_EMAIL);
+
+        assertTrue(response.getCpfAvailable());
+        assertTrue(response.getEmailAvailable());
+        verify(studentRepository, never()).existsByCpf(anyString());
+        verify(studentRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    void whenValueMightBeInFilterConfirmWithDatabase() throws BadRequestException {
+        buildWith(CPF, EMAIL);
+        when(studentRepository.existsByCpf(CPF)).thenReturn(false);
+        when(studentRepository.existsByEmail(EMAIL)).thenReturn(true);
+
+        StudentAvailabilityResponseDto response = studentAvailabilityServiceImpl.check(CPF, EMAIL);
+
+        assertTrue(response.getCpfAvailable());
+        assertFalse(response.getEmailAvailable());
+        assertEquals(1, meterRegistry.counter("students.availability.checks",
+                "field", "cpf", "result", "false_positive").count());
+    }
+
+    @Test
+    void whenRegisterOutsideTransactionAddToFilter() throws BadRequestException {
+        buildWith(CPF, EMAIL);
+
+        studentAvailabilityServiceImpl.register(FREE_CPF, FREE_EMAIL);
+        studentAvailabilityServiceImpl.check(FREE_CPF, null);
+
+        verify(studentRepository, times(1)).existsByCpf(FREE_CPF);
+    }
+
+    @Test
+    void whenAnotherInstanceCreatesAStudentTheChangeFeedAddsIt() throws BadRequestException {
+        buildWith(CPF, EMAIL);
+
+        studentAvailabilityServiceImpl.onChanges(List.of(
+                new StudentChangeResponseDto(7L, OffsetDateTime.now(), 2L, "Free", FREE_CPF, FREE_EMAIL,
+                        "G0000001", CourseEnum.LAW, true, 0L),
+                new StudentChangeResponseDto(8L, OffsetDateTime.now(), 1L)));
+        studentAvailabilityServiceImpl.onSynced(true);
+        studentAvailabilityServiceImpl.check(FREE_CPF, null);
+
+        verify(studentRepository, times(1)).existsByCpf(FREE_CPF);
+    }
+
+    @Test
+    void whenChangeFeedCannotBeReadConfirmEveryCheckWithDatabase() throws BadRequestException {
+        buildWith(CPF, EMAIL);
+
+        studentAvailabilityServiceImpl.onSynced(false);
+        StudentAvailabilityResponseDto response = studentAvailabilityServiceImpl.check(FREE_CPF, null);
+
+        assertTrue(response.getCpfAvailable());
+        verify(studentRepository, times(1)).existsByCpf(FREE_CPF);
+        assertEquals(1, meterRegistry.counter("students.availability.checks",
+                "field", "cpf", "result", "not_ready").count());
+    }
+
+    @Test
+    void whenTryCheckWithoutCpfAndEmailReturnBadRequestException() {
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> studentAvailabilityServiceImpl.check(null, " "));
+
+        assertEquals("Inform a CPF or an email", exception.getMessage());
+    }
+
+    private void buildWith(String cpf, String email) {
+        StudentKeysProjection keys = mock(StudentKeysProjection.class);
+        when(keys.getCpf()).thenReturn(cpf);
+        when(keys.getEmail()).thenReturn(email);
+        when(studentRepository.count()).thenReturn(1L);
+        when(studentRepository.streamAllKeys()).thenReturn(Stream.of(keys));
+
+        studentAvailabilityServiceImpl.rebuild();
+
+        assertEquals(1, meterRegistry.timer("students.availability.rebuilds").count());
+    }
+}
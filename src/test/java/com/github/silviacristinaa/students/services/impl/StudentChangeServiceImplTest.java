@@ -0,0 +1,144 @@
+package com.github.silviacristinaa.students.services.impl;
+
+import com.github.silviacristinaa.students.dtos.responses.StudentChangeResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentChangesResponseDto;
+import com.github.silviacristinaa.students.enums.ChangeTypeEnum;
+import com.github.silviacristinaa.students.enums.CourseEnum;
+import com.github.silviacristinaa.students.exceptions.BadRequestException;
+import com.github.silviacristinaa.students.repositories.StudentChangeRepository;
+import com.github.silviacristinaa.students.repositories.StudentRepository;
+import com.github.silviacristinaa.students.repositories.StudentTombstoneRepository;
+import com.github.silviacristinaa.students.services.StudentChangeListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class StudentChangeServiceImplTest {
+
+    private static final OffsetDateTime CHANGED_AT = OffsetDateTime.now();
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private StudentTombstoneRepository studentTombstoneRepository;
+
+    @Mock
+    private StudentChangeRepository studentChangeRepository;
+
+    @Mock
+    private StudentChangeListener studentChangeListener;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StudentChangeServiceImpl studentChangeServiceImpl;
+
+    @BeforeEach
+    void setUp() {
+        studentChangeServiceImpl = new StudentChangeServiceImpl(studentRepository, studentTombstoneRepository,
+                studentChangeRepository, List.of(studentChangeListener), transactionManager);
+    }
+
+    @Test
+    void whenFindChangesMergeUpdatesAndDeletesInSequenceOrder() throws BadRequestException {
+        when(studentChangeRepository.findLastSequence()).thenReturn(4L);
+        when(studentRepository.findChangesBetween(0, 4, Limit.of(3)))
+                .thenReturn(List.of(upsert(1L, CHANGED_AT), upsert(4L, CHANGED_AT)));
+        when(studentTombstoneRepository.findChangesBetween(0, 4, Limit.of(3)))
+                .thenReturn(List.of(delete(2L, CHANGED_AT), delete(3L, CHANGED_AT)));
+
+        StudentChangesResponseDto first = studentChangeServiceImpl.findChanges(null, 3);
+
+        assertEquals(List.of(1L, 2L, 3L), first.getContent().stream().map(StudentChangeResponseDto::getSequence)
+                .toList());
+        assertEquals(ChangeTypeEnum.DELETE, first.getContent().get(1).getType());
+        assertNull(first.getContent().get(1).getStudent());
+
+        when(studentRepository.findChangesBetween(3, 4, Limit.of(3))).thenReturn(List.of(upsert(4L, CHANGED_AT)));
+
+        StudentChangesResponseDto second = studentChangeServiceImpl.findChanges(first.getNext(), 3);
+
+        assertEquals(1, second.getSize());
+        assertEquals(4L, second.getContent().getFirst().getSequence());
+    }
+
+    @Test
+    void whenSequenceRunItsChangesInOneTransaction() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(studentChangeRepository.hasPending()).thenReturn(true);
+        when(studentChangeRepository.sequencePending()).thenReturn(2);
+
+        studentChangeServiceImpl.sequence();
+
+        verify(studentChangeRepository, times(1)).sequencePending();
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void whenNothingIsPendingSequenceDoesNotTakeTheLock() {
+        studentChangeServiceImpl.sequence();
+
+        verify(studentChangeRepository, never()).sequencePending();
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    void whenPollHandEachChangeToTheListenersOnce() {
+        StudentChangeResponseDto update = upsert(5L, CHANGED_AT);
+        StudentChangeResponseDto deletion = delete(6L, CHANGED_AT);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(studentChangeRepository.findLastSequence()).thenReturn(4L, 6L, 6L);
+        when(studentRepository.findChangesBetween(4, 6, Limit.of(1000))).thenReturn(List.of(update));
+        when(studentTombstoneRepository.findChangesBetween(4, 6, Limit.of(1000))).thenReturn(List.of(deletion));
+
+        studentChangeServiceImpl.start();
+        studentChangeServiceImpl.poll();
+        studentChangeServiceImpl.poll();
+
+        verify(studentChangeListener, times(1)).onChanges(List.of(update, deletion));
+        verify(studentRepository, times(1)).findChangesBetween(6, 6, Limit.of(1000));
+        verify(studentChangeListener, times(2)).onSynced(true);
+    }
+
+    @Test
+    void whenPollCannotReadTheFeedTellTheListeners() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(studentChangeRepository.findLastSequence()).thenReturn(4L)
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        studentChangeServiceImpl.start();
+        studentChangeServiceImpl.poll();
+
+        verify(studentChangeListener, never()).onChanges(any());
+        verify(studentChangeListener, times(1)).onSynced(false);
+    }
+
+    @Test
+    void whenTryFindChangesWithInvalidArgumentsReturnBadRequestException() {
+        assertThrows(BadRequestException.class, () -> studentChangeServiceImpl.findChanges(null, 0));
+        assertThrows(BadRequestException.class, () -> studentChangeServiceImpl.findChanges("not a token", 10));
+    }
+
+    private static StudentChangeResponseDto upsert(Long sequence, OffsetDateTime changedAt) {
+        return new StudentChangeResponseDto(sequence, changedAt, 10 + sequence, "Test", "12345678909",
+                "test@gmail.com", "G0000000", CourseEnum.LAW, true, 0L);
+    }
+
+    private static StudentChangeResponseDto delete(Long sequence, OffsetDateTime changedAt) {
+        return new StudentChangeResponseDto(sequence, changedAt, 10 + sequence);
+    }
+}
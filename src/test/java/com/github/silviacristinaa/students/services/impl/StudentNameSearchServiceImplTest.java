@@ -0,0 +1,153 @@
+package com.github.silviacristinaa.students.services.impl;
+
+import com.github.silviacristinaa.students.dtos.responses.StudentChangeResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentNameMatchResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentResponseDto;
+import com.github.silviacristinaa.students.enums.CourseEnum;
+import com.github.silviacristinaa.students.exceptions.BadRequestException;
+import com.github.silviacristinaa.students.repositories.StudentNameSearchRepository;
+import com.github.silviacristinaa.students.repositories.StudentRepository;
+import com.github.silviacristinaa.students.repositories.projections.StudentNameProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class StudentNameSearchServiceImplTest {
+
+    private static final String SILVIA = "Silvia Cristina Alexandre";
+    private static final String SILVIO = "Silvio Santos";
+    private static final String MARIA = "Maria Souza";
+
+    private StudentNameSearchServiceImpl studentNameSearchServiceImpl;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private StudentNameSearchRepository studentNameSearchRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        studentNameSearchServiceImpl = new StudentNameSearchServiceImpl(studentRepository,
+                studentNameSearchRepository, transactionManager, 0.3);
+    }
+
+    @Test
+    void whenSearchWithMisspelledNameReturnMostSimilarFirst() throws BadRequestException {
+        buildWith(name(1L, SILVIA), name(2L, SILVIO), name(3L, MARIA));
+        when(studentRepository.findResponsesByIdIn(anyCollection()))
+                .thenReturn(List.of(student(1L, SILVIA)));
+
+        List<StudentNameMatchResponseDto> response = studentNameSearchServiceImpl.search("Slvia Cristna", 10);
+
+        assertEquals(1, response.size());
+        assertEquals(SILVIA, response.get(0).getName());
+        assertTrue(response.get(0).getSimilarity() >= 0.3);
+        verify(studentRepository).findResponsesByIdIn(List.of(1L));
+    }
+
+    @Test
+    void whenRegisterAndRemoveUpdateIndex() throws BadRequestException {
+        buildWith(name(1L, SILVIA));
+
+        studentNameSearchServiceImpl.register(2L, MARIA);
+        studentNameSearchServiceImpl.search("Maria Sousa", 10);
+        verify(studentRepository).findResponsesByIdIn(List.of(2L));
+
+        studentNameSearchServiceImpl.remove(2L);
+        studentNameSearchServiceImpl.search("Maria Sousa", 10);
+        verify(studentRepository).findResponsesByIdIn(List.of());
+    }
+
+    @Test
+    void whenAnotherInstanceChangesStudentsTheChangeFeedAppliesThem() throws BadRequestException {
+        buildWith(name(1L, SILVIA));
+
+        studentNameSearchServiceImpl.onChanges(List.of(
+                new StudentChangeResponseDto(7L, OffsetDateTime.now(), 2L, MARIA, "12345678909",
+                        "test@gmail.com", "20259212", CourseEnum.LAW, true, 0L),
+                new StudentChangeResponseDto(8L, OffsetDateTime.now(), 1L)));
+        studentNameSearchServiceImpl.search("Maria Sousa", 10);
+        studentNameSearchServiceImpl.search(SILVIA, 10);
+
+        verify(studentRepository).findResponsesByIdIn(List.of(2L));
+        verify(studentRepository).findResponsesByIdIn(List.of());
+    }
+
+    @Test
+    void whenDeadDocumentsOutnumberLiveOnesCompactKeepsMatches() {
+        TrigramIndex index = new TrigramIndex();
+        for (long id = 1; id <= 2000; id++) {
+            index.put(id, "Student " + id);
+        }
+        for (long id = 1; id <= 1999; id++) {
+            index.put(id, id % 2 == 0 ? "Student " + id : "Renamed " + id);
+        }
+        for (long id = 2; id <= 1998; id += 2) {
+            index.remove(id);
+        }
+
+        assertEquals(1001, index.size());
+        assertEquals(List.of(2000L), index.search("Student 2000", 1, 0.3).stream()
+                .map(TrigramIndex.Match::id).toList());
+        assertEquals(List.of(1999L), index.search("Renamed 1999", 1, 0.3).stream()
+                .map(TrigramIndex.Match::id).toList());
+    }
+
+    @Test
+    void whenPgTrgmIsAvailableSearchInDatabase() throws BadRequestException {
+        when(studentNameSearchRepository.isSupported()).thenReturn(true);
+
+        studentNameSearchServiceImpl.rebuild();
+        studentNameSearchServiceImpl.search(SILVIA, 5);
+
+        verify(studentNameSearchRepository).search(SILVIA, 5, 0.3);
+        verify(studentRepository, never()).streamAllNames();
+    }
+
+    @Test
+    void whenTrySearchWithoutNameReturnBadRequestException() {
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> studentNameSearchServiceImpl.search(" ", 10));
+
+        assertEquals("Inform a name to search", exception.getMessage());
+    }
+
+    @Test
+    void whenTrigramsAreComputedPadWordsLikePgTrgm() {
+        assertEquals(Set.of("  a", " ab", "ab ", "  c", " c "), TrigramIndex.trigrams("AB, c"));
+    }
+
+    private void buildWith(StudentNameProjection... names) {
+        when(studentRepository.streamAllNames()).thenReturn(Stream.of(names));
+        studentNameSearchServiceImpl.rebuild();
+    }
+
+    private static StudentNameProjection name(Long id, String name) {
+        StudentNameProjection projection = mock(StudentNameProjection.class);
+        when(projection.getId()).thenReturn(id);
+        when(projection.getName()).thenReturn(name);
+        return projection;
+    }
+
+    private static StudentResponseDto student(Long id, String name) {
+        return new StudentResponseDto(id, name, "12345678909", "test@gmail.com", "20259212", CourseEnum.LAW, true,
+                0L);
+    }
+}
@@ -1,27 +1,53 @@
 package com.github.silviacristinaa.students.services.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.silviacristinaa.students.configs.CacheConfig;
+import com.github.silviacristinaa.students.dtos.requests.StudentBulkStatusRequestDto;
 import com.github.silviacristinaa.students.dtos.requests.StudentRequestDto;
+import com.github.silviacristinaa.students.dtos.requests.StudentSearchRequestDto;
 import com.github.silviacristinaa.students.dtos.requests.StudentStatusRequestDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentBatchResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentBulkStatusResponseDto;
+import com.github.silviacristinaa.students.dtos.responses.StudentCursorResponseDto;
 import com.github.silviacristinaa.students.dtos.responses.StudentResponseDto;
 import com.github.silviacristinaa.students.entities.Student;
+import com.github.silviacristinaa.students.enums.BatchItemStatusEnum;
 import com.github.silviacristinaa.students.enums.CourseEnum;
-import com.github.silviacristinaa.students.exceptions.ConflictException;
+import com.github.silviacristinaa.students.enums.CursorSortEnum;
+import com.github.silviacristinaa.students.exceptions.BadRequestException;
 import com.github.silviacristinaa.students.exceptions.NotFoundException;
+import com.github.silviacristinaa.students.exceptions.PreconditionFailedException;
+import com.github.silviacristinaa.students.mappers.StudentMapper;
 import com.github.silviacristinaa.students.repositories.StudentRepository;
+import com.github.silviacristinaa.students.repositories.StudentSearchRepository;
+import com.github.silviacristinaa.students.repositories.StudentTombstoneRepository;
+import com.github.silviacristinaa.students.repositories.projections.StudentStatusProjection;
+import com.github.silviacristinaa.students.services.StudentAvailabilityService;
+import com.github.silviacristinaa.students.services.StudentNameSearchService;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
-import org.modelmapper.ModelMapper;
+import org.mockito.Spy;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -33,12 +59,14 @@ public class StudentServiceImplTest {
     private static final String CPF_ALREADY_REGISTERED_IN_THE_SYSTEM = "CPF already registered in the system";
     private static final String EMAIL_ALREADY_REGISTERED_IN_THE_SYSTEM = "Email already registered in the system";
     private static final String STUDENT_NOT_FOUND = "Student %s not found";
+    private static final String VERSION_MISMATCH = "Student %s is at version %s";
 
     private static final long ID = 1L;
     private static final String NAME = "Test";
     private static final String CPF = "12345678909";
     private static final String EMAIL = "test@gmail.com";
     private static final String REGISTRATION = "20259212";
+    private static final long VERSION = 3L;
     private static final int INDEX = 0;
 
     private StudentRequestDto studentRequestDto;
@@ -54,7 +82,37 @@ public class StudentServiceImplTest {
     private StudentRepository studentRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private StudentSearchRepository studentSearchRepository;
+
+    @Mock
+    private StudentTombstoneRepository studentTombstoneRepository;
+
+    @Mock
+    private StudentMapper studentMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private RegistrationGenerator registrationGenerator;
+
+    @Mock
+    private StudentAvailabilityService studentAvailabilityService;
+
+    @Mock
+    private StudentNameSearchService studentNameSearchService;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
 
     @BeforeEach
     void setUp() {
@@ -62,15 +120,15 @@ public class StudentServiceImplTest {
 
         studentStatusRequestDto = new StudentStatusRequestDto(true);
 
-        studentResponseDto = new StudentResponseDto(ID, NAME, CPF, EMAIL, REGISTRATION, CourseEnum.LAW, true);
+        studentResponseDto = new StudentResponseDto(ID, NAME, CPF, EMAIL, REGISTRATION, CourseEnum.LAW, true, VERSION);
 
-        student = new Student(ID, NAME, CPF, EMAIL, REGISTRATION, CourseEnum.LAW, true);
+        student = new Student(ID, NAME, CPF, EMAIL, REGISTRATION, CourseEnum.LAW, true, VERSION, null, null);
     }
 
     @Test
     void whenFindAllReturnStudentResponseDtoPage() {
-        when(studentRepository.findAll(Mockito.any(Pageable.class))).thenReturn(new PageImpl<>(List.of(student)));
-        when(modelMapper.map(Mockito.any(), Mockito.any())).thenReturn(studentResponseDto);
+        when(studentRepository.findAllResponses(Mockito.any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(studentResponseDto)));
 
         Page<StudentResponseDto> response = studentServiceImpl.findAll(Pageable.ofSize(1));
 
@@ -87,10 +145,48 @@ public class StudentServiceImplTest {
         assertTrue(response.getContent().get(INDEX).isActive());
     }
 
+    @Test
+    void whenFindAllByCursorReturnPageWithNextCursor() throws BadRequestException {
+        StudentResponseDto last = new StudentResponseDto(2L, NAME, CPF, EMAIL, REGISTRATION, CourseEnum.LAW, true,
+                VERSION);
+        when(studentRepository.findResponsesOrderedById(Limit.of(2))).thenReturn(List.of(studentResponseDto, last));
+        when(studentRepository.findResponsesAfterId(ID, Limit.of(2))).thenReturn(List.of(last));
+
+        StudentCursorResponseDto first = studentServiceImpl.findAll("", 1, CursorSortEnum.ID);
+
+        assertEquals(1, first.getSize());
+        assertNotNull(first.getNext());
+
+        StudentCursorResponseDto second = studentServiceImpl.findAll(first.getNext(), 1, CursorSortEnum.ID);
+
+        assertEquals(1, second.getSize());
+        assertNull(second.getNext());
+        verify(studentRepository, never()).count();
+    }
+
+    @Test
+    void whenTryFindAllByCursorWithInvalidCursorReturnBadRequestException() {
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> studentServiceImpl.findAll("not-a-cursor", 1, CursorSortEnum.NAME));
+
+        assertEquals("Invalid cursor", exception.getMessage());
+    }
+
+    @Test
+    void whenSearchReturnStudentResponseDtoPage() {
+        StudentSearchRequestDto filter = new StudentSearchRequestDto(CourseEnum.LAW, true, "Te", null);
+        when(studentSearchRepository.search(filter, Pageable.ofSize(1)))
+                .thenReturn(new PageImpl<>(List.of(studentResponseDto)));
+
+        Page<StudentResponseDto> response = studentServiceImpl.search(filter, Pageable.ofSize(1));
+
+        assertEquals(1, response.getTotalElements());
+        assertEquals(NAME, response.getContent().get(INDEX).getName());
+    }
+
     @Test
     void whenFindByIdReturnOneStudentResponseDto() throws NotFoundException {
-        when(studentRepository.findById(anyLong())).thenReturn(Optional.of(student));
-        when(modelMapper.map(Mockito.any(), Mockito.any())).thenReturn(studentResponseDto);
+        when(studentRepository.findResponseById(anyLong())).thenReturn(Optional.of(studentResponseDto));
 
         StudentResponseDto response = studentServiceImpl.findOneStudentById(ID);
 
@@ -108,7 +204,7 @@ public class StudentServiceImplTest {
 
     @Test
     void whenTryFindByIdReturnNotFoundException() {
-        when(studentRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(studentRepository.findResponseById(anyLong())).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> studentServiceImpl.findOneStudentById(ID));
@@ -117,11 +213,24 @@ public class StudentServiceImplTest {
     }
 
     @Test
-    void whenCreateReturnSuccess() throws ConflictException {
-        when(studentRepository.findByCpf(Mockito.any())).thenReturn(Optional.empty());
-        when(studentRepository.findByEmail(Mockito.any())).thenReturn(Optional.empty());
-        when(modelMapper.map(Mockito.any(), Mockito.any())).thenReturn(student);
-        when(studentRepository.save(Mockito.any())).thenReturn(student);
+    void whenExportWriteOneJsonLinePerStudentAndDetachIt() throws IOException {
+        when(studentRepository.streamAll(CourseEnum.LAW, null)).thenReturn(Stream.of(student, student));
+        when(studentMapper.toResponseDto(Mockito.any())).thenReturn(studentResponseDto);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        studentServiceImpl.export(CourseEnum.LAW, null, outputStream);
+
+        String[] lines = outputStream.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(NAME, objectMapper.readValue(lines[1], StudentResponseDto.class).getName());
+        verify(entityManager, times(2)).detach(student);
+    }
+
+    @Test
+    void whenCreateReturnSuccess() {
+        when(studentMapper.toEntity(Mockito.any())).thenReturn(student);
+        when(registrationGenerator.next()).thenReturn(REGISTRATION);
+        when(studentRepository.saveAndFlush(Mockito.any())).thenReturn(student);
 
         Student response = studentServiceImpl.create(studentRequestDto);
 
@@ -135,113 +244,225 @@ public class StudentServiceImplTest {
         assertEquals(CourseEnum.LAW, response.getCourse());
         assertTrue(response.isActive());
 
-        verify(studentRepository, times(1)).save(Mockito.any());
+        verify(studentRepository, times(1)).saveAndFlush(Mockito.any());
+        verify(studentAvailabilityService, times(1)).register(CPF, EMAIL);
+        verify(studentRepository, never()).findByCpf(Mockito.any());
+        verify(studentRepository, never()).findByEmail(Mockito.any());
     }
 
     @Test
-    void whenTryCreateReturnCpfConflictException() {
-        when(studentRepository.findByCpf(Mockito.any())).thenReturn(Optional.of(student));
+    void whenTryCreateWithTakenCpfPropagateDataIntegrityViolationException() {
+        when(studentMapper.toEntity(Mockito.any())).thenReturn(student);
+        when(studentRepository.saveAndFlush(Mockito.any()))
+                .thenThrow(new DataIntegrityViolationException(CPF_ALREADY_REGISTERED_IN_THE_SYSTEM));
 
-        ConflictException exception = assertThrows(ConflictException.class,
-                () -> studentServiceImpl.create(studentRequestDto));
+        assertThrows(DataIntegrityViolationException.class, () -> studentServiceImpl.create(studentRequestDto));
 
-        assertEquals(CPF_ALREADY_REGISTERED_IN_THE_SYSTEM, exception.getMessage());
+        verify(studentRepository, never()).findByCpf(Mockito.any());
+        verify(studentNameSearchService, never()).register(Mockito.any(), Mockito.any());
     }
 
     @Test
-    void whenTryCreateReturnEmailConflictException() {
-        when(studentRepository.findByCpf(Mockito.any())).thenReturn(Optional.empty());
-        when(studentRepository.findByEmail(Mockito.any())).thenReturn(Optional.of(student));
-
-        ConflictException exception = assertThrows(ConflictException.class,
-                () -> studentServiceImpl.create(studentRequestDto));
-
-        assertEquals(EMAIL_ALREADY_REGISTERED_IN_THE_SYSTEM, exception.getMessage());
+    void whenCreateAllReturnCreatedAndConflictItems() {
+        StudentRequestDto duplicatedInBatch = new StudentRequestDto(NAME, CPF, "other@gmail.com", CourseEnum.LAW, true);
+        StudentRequestDto alreadyRegistered = new StudentRequestDto(NAME, "34362506276", "taken@gmail.com",
+                CourseEnum.LAW, true);
+
+        when(studentRepository.findExistingCpfs(Mockito.any())).thenReturn(List.of());
+        when(studentRepository.findExistingEmails(Mockito.any())).thenReturn(List.of("taken@gmail.com"));
+        when(studentMapper.toEntity(Mockito.any())).thenReturn(student);
+        when(studentRepository.saveAllAndFlush(Mockito.any())).thenReturn(List.of(student));
+
+        StudentBatchResponseDto response = studentServiceImpl.createAll(
+                List.of(studentRequestDto, duplicatedInBatch, alreadyRegistered));
+
+        assertEquals(1, response.getCreated());
+        assertEquals(2, response.getConflicts());
+        assertEquals(BatchItemStatusEnum.CREATED, response.getItems().get(0).getStatus());
+        assertEquals(ID, response.getItems().get(0).getId());
+        assertEquals(BatchItemStatusEnum.CONFLICT, response.getItems().get(1).getStatus());
+        assertEquals(CPF_ALREADY_REGISTERED_IN_THE_SYSTEM, response.getItems().get(1).getError());
+        assertEquals(BatchItemStatusEnum.CONFLICT, response.getItems().get(2).getStatus());
+        assertEquals(EMAIL_ALREADY_REGISTERED_IN_THE_SYSTEM, response.getItems().get(2).getError());
+
+        verify(studentRepository, times(1)).saveAllAndFlush(Mockito.any());
     }
 
     @Test
-    void whenUpdateStudentStatusReturnSuccess() throws NotFoundException {
-        when(studentRepository.findById(Mockito.any())).thenReturn(Optional.of(student));
+    void whenUpdateStudentStatusReturnSuccess() throws NotFoundException, PreconditionFailedException {
+        when(studentRepository.updateStatusById(ID, true, null)).thenReturn(1);
 
-        studentServiceImpl.updateStudentStatus(ID, studentStatusRequestDto);
+        studentServiceImpl.updateStudentStatus(ID, studentStatusRequestDto, null);
 
-        verify(studentRepository, times(1)).save(Mockito.any());
+        verify(studentRepository, never()).findById(anyLong());
+        verify(studentRepository, never()).findVersionById(anyLong());
     }
 
     @Test
     void whenTryUpdateStudentStatusReturnNotFoundException() {
-        when(studentRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(studentRepository.findVersionById(anyLong())).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class,
-                () -> studentServiceImpl.updateStudentStatus(ID, studentStatusRequestDto));
+                () -> studentServiceImpl.updateStudentStatus(ID, studentStatusRequestDto, null));
 
         assertEquals(String.format(STUDENT_NOT_FOUND, ID), exception.getMessage());
     }
 
     @Test
-    void whenUpdateReturnSuccess() throws NotFoundException, ConflictException {
-        when(studentRepository.findById(Mockito.any())).thenReturn(Optional.of(student));
-        when(studentRepository.findByCpf(Mockito.any())).thenReturn(Optional.empty());
-        when(studentRepository.findByEmail(Mockito.any())).thenReturn(Optional.empty());
-        when(modelMapper.map(Mockito.any(), Mockito.any())).thenReturn(student);
+    void whenUpdateStudentsStatusByIdsReturnAffectedAndMissingIds() throws BadRequestException {
+        when(studentRepository.findStatusesByIdIn(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(status(1L, true), status(2L, false)));
+        when(studentRepository.updateStatus(List.of(1L), false)).thenReturn(1);
+        when(cacheManager.getCache(CacheConfig.STUDENTS)).thenReturn(cache);
+        runChunksInTransactions();
+
+        StudentBulkStatusResponseDto response = studentServiceImpl.updateStudentsStatus(
+                new StudentBulkStatusRequestDto(List.of(1L, 2L, 3L, 1L), null, null, false));
+
+        assertEquals(1, response.getUpdated());
+        assertEquals(1, response.getUnchanged());
+        assertEquals(List.of(1L), response.getAffected());
+        assertEquals(List.of(3L), response.getMissing());
+
+        verify(cache, times(1)).evict(1L);
+        verify(studentRepository, never()).findById(anyLong());
+        verify(transactionTemplate, times(1)).execute(Mockito.any());
+    }
+
+    @Test
+    void whenUpdateStudentsStatusByFilterUpdateMatchingIds() throws BadRequestException {
+        when(studentRepository.findIdsToChangeStatus(0L, CourseEnum.LAW, true, false, Limit.of(1000)))
+                .thenReturn(List.of(5L, 6L));
+        when(studentRepository.updateStatus(List.of(5L, 6L), false)).thenReturn(2);
+        when(cacheManager.getCache(CacheConfig.STUDENTS)).thenReturn(cache);
+        runChunksInTransactions();
+
+        StudentBulkStatusResponseDto response = studentServiceImpl.updateStudentsStatus(
+                new StudentBulkStatusRequestDto(null, CourseEnum.LAW, true, false));
+
+        assertEquals(2, response.getUpdated());
+        assertEquals(List.of(5L, 6L), response.getAffected());
+        assertTrue(response.getMissing().isEmpty());
+
+        verify(cache, times(1)).evict(5L);
+        verify(cache, times(1)).evict(6L);
+    }
+
+    @Test
+    void whenLockedStatusUpdateChangesFewerRowsRollBackTheChunk() {
+        when(studentRepository.findIdsToChangeStatus(0L, CourseEnum.LAW, null, false, Limit.of(1000)))
+                .thenReturn(List.of(5L, 6L));
+        when(studentRepository.updateStatus(List.of(5L, 6L), false)).thenReturn(1);
+        runChunksInTransactions();
 
-        studentServiceImpl.update(ID, studentRequestDto);
+        assertThrows(IllegalStateException.class, () -> studentServiceImpl.updateStudentsStatus(
+                new StudentBulkStatusRequestDto(null, CourseEnum.LAW, null, false)));
 
-        verify(studentRepository, times(1)).save(Mockito.any());
+        verify(cacheManager, never()).getCache(CacheConfig.STUDENTS);
+    }
+
+    @Test
+    void whenTryUpdateStudentsStatusByIdsAndFilterReturnBadRequestException() {
+        assertThrows(BadRequestException.class, () -> studentServiceImpl.updateStudentsStatus(
+                new StudentBulkStatusRequestDto(List.of(ID), CourseEnum.LAW, null, false)));
+        assertThrows(BadRequestException.class, () -> studentServiceImpl.updateStudentsStatus(
+                new StudentBulkStatusRequestDto(List.of(), null, null, false)));
+
+        verify(studentRepository, never()).updateStatus(Mockito.any(), Mockito.anyBoolean());
+    }
+
+    @Test
+    void whenUpdateReturnSuccess() throws NotFoundException, PreconditionFailedException {
+        when(studentRepository.updateById(ID, NAME, CPF, EMAIL, CourseEnum.LAW, false, null)).thenReturn(1);
+
+        studentServiceImpl.update(ID, studentRequestDto, null);
+
+        verify(studentRepository, never()).findById(anyLong());
+        verify(studentRepository, never()).findByCpf(Mockito.any());
+        verify(studentRepository, never()).findByEmail(Mockito.any());
+        verify(studentAvailabilityService, times(1)).register(CPF, EMAIL);
+        verify(studentNameSearchService, times(1)).register(ID, NAME);
     }
 
     @Test
     void whenTryUpdateReturnNotFoundException() {
-        when(studentRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(studentRepository.findVersionById(anyLong())).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class,
-                () -> studentServiceImpl.update(ID, studentRequestDto));
+                () -> studentServiceImpl.update(ID, studentRequestDto, null));
 
         assertEquals(String.format(STUDENT_NOT_FOUND, ID), exception.getMessage());
     }
 
     @Test
-    void whenTryUpdateReturnCpfConflictException() {
-        when(studentRepository.findById(Mockito.any())).thenReturn(Optional.of(student));
-        when(studentRepository.findByCpf(Mockito.any())).thenReturn(Optional.of(student));
+    void whenTryUpdateWithStaleVersionReturnPreconditionFailedException() {
+        when(studentRepository.updateById(ID, NAME, CPF, EMAIL, CourseEnum.LAW, false, VERSION - 1)).thenReturn(0);
+        when(studentRepository.findVersionById(ID)).thenReturn(Optional.of(VERSION));
 
-        student.setId(2L);
+        PreconditionFailedException exception = assertThrows(PreconditionFailedException.class,
+                () -> studentServiceImpl.update(ID, studentRequestDto, VERSION - 1));
 
-        ConflictException exception = assertThrows(ConflictException.class,
-                () -> studentServiceImpl.update(ID, studentRequestDto));
-
-        assertEquals(CPF_ALREADY_REGISTERED_IN_THE_SYSTEM, exception.getMessage());
+        assertEquals(String.format(VERSION_MISMATCH, ID, VERSION), exception.getMessage());
+        verify(studentNameSearchService, never()).register(anyLong(), Mockito.any());
     }
 
     @Test
-    void whenTryUpdateReturnEmailConflictException() {
-        when(studentRepository.findById(Mockito.any())).thenReturn(Optional.of(student));
-        when(studentRepository.findByCpf(Mockito.any())).thenReturn(Optional.empty());
-        when(studentRepository.findByEmail(Mockito.any())).thenReturn(Optional.of(student));
+    void whenTryUpdateStudentStatusWithStaleVersionReturnPreconditionFailedException() {
+        when(studentRepository.updateStatusById(ID, true, VERSION + 1)).thenReturn(0);
+        when(studentRepository.findVersionById(ID)).thenReturn(Optional.of(VERSION));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> studentServiceImpl.updateStudentStatus(ID, studentStatusRequestDto, VERSION + 1));
+    }
 
-        student.setId(2L);
+    @Test
+    void whenTryUpdateWithTakenCpfPropagateDataIntegrityViolationException() {
+        when(studentRepository.updateById(ID, NAME, CPF, EMAIL, CourseEnum.LAW, false, null))
+                .thenThrow(new DataIntegrityViolationException(CPF_ALREADY_REGISTERED_IN_THE_SYSTEM));
 
-        ConflictException exception = assertThrows(ConflictException.class,
-                () -> studentServiceImpl.update(ID, studentRequestDto));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> studentServiceImpl.update(ID, studentRequestDto, null));
 
-        assertEquals(EMAIL_ALREADY_REGISTERED_IN_THE_SYSTEM, exception.getMessage());
+        verify(studentRepository, never()).findByCpf(Mockito.any());
+        verify(studentAvailabilityService, never()).register(Mockito.any(), Mockito.any());
     }
 
     @Test
     void whenDeleteReturnSuccess() throws NotFoundException {
-        when(studentRepository.findById(Mockito.any())).thenReturn(Optional.of(student));
+        when(studentRepository.deleteStudentById(ID)).thenReturn(1);
 
         studentServiceImpl.delete(ID);
 
-        verify(studentRepository, times(1)).delete(any());
+        verify(studentRepository, never()).findById(anyLong());
+        verify(studentTombstoneRepository, times(1)).insertTombstone(ID);
+        verify(studentNameSearchService, times(1)).remove(ID);
     }
 
     @Test
     void whenTryDeleteReturnNotFoundException() {
-        when(studentRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(studentRepository.deleteStudentById(anyLong())).thenReturn(0);
 
         NotFoundException exception = assertThrows(NotFoundException.class, () -> studentServiceImpl.delete(ID));
 
         assertEquals(String.format(STUDENT_NOT_FOUND, ID), exception.getMessage());
     }
+
+    private void runChunksInTransactions() {
+        when(transactionTemplate.execute(Mockito.any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private static StudentStatusProjection status(Long id, boolean active) {
+        return new StudentStatusProjection() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public boolean isActive() {
+                return active;
+            }
+        };
+    }
 }